@@ -0,0 +1,95 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.BoardRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks the Board operations outside the opening cascade.
+ * </p>
+ * Covers construction, mine placement (through restartBoard),
+ * toggleMark, goalAchieved and rendering, for sizes from 6x6 to 10^7 fields.
+ * Densities go up to 95% mines, where sampling positions with retries
+ * used to spin, so mine placement is covered at every density.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({BoardSize.SMALL, BoardSize.MEDIUM, BoardSize.LARGE, BoardSize.HUGE})
+    public String size;
+
+    @Param({"0.01", "0.16", "0.50", "0.95"})
+    public double density;
+
+    private BoardSize boardSize;
+    private int mines;
+
+    private Board board;
+    private BoardRenderer renderer;
+    private StringBuilder out;
+    private int nextField;
+
+    @Setup
+    public void setUp() {
+        boardSize = BoardSize.parse(size);
+        mines = boardSize.mines(density);
+
+        board = new Board(boardSize.rows(), boardSize.cols(), mines, 42L);
+        renderer = new BoardRenderer(board);
+        out = new StringBuilder();
+    }
+
+    @Benchmark
+    public Board construct() {
+        return new Board(boardSize.rows(), boardSize.cols(), mines, 42L);
+    }
+
+    @Benchmark
+    public Board mineFields() {
+        board.restartBoard();
+        return board;
+    }
+
+    @Benchmark
+    public int toggleMark() {
+        nextField = (nextField + 1) % boardSize.fields();
+        board.toggleMark(nextField / boardSize.cols(), nextField % boardSize.cols());
+        return board.remainingMines();
+    }
+
+    @Benchmark
+    public boolean goalAchieved() {
+        return board.goalAchieved();
+    }
+
+    @Benchmark
+    public String toStringBoard() {
+        return board.toString();
+    }
+
+    @Benchmark
+    public StringBuilder render() throws IOException {
+        out.setLength(0);
+        renderer.render(out);
+        return out;
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.aceleramaker.benchmark;
+
+/**
+ * <p>
+ * Board dimensions parsed from a benchmark parameter.
+ * </p>
+ * Sizes go from the 6x6 board used by the game up to 10^7 fields.
+ *
+ * @param rows number of rows.
+ * @param cols number of columns.
+ * */
+record BoardSize(int rows, int cols) {
+
+    static final String SMALL = "6x6";
+    static final String MEDIUM = "100x100";
+    static final String LARGE = "1000x1000";
+    static final String HUGE = "10000x1000";
+
+    /**
+     * Parses a size in the format "rows x cols", like {@code 100x100}.
+     *
+     * @param size the benchmark parameter.
+     * @return the board size.
+     * */
+    static BoardSize parse(String size) {
+        String[] parts = size.split("x");
+        return new BoardSize(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    int fields() {
+        return rows * cols;
+    }
+
+    int mines(double density) {
+        return (int) (fields() * density);
+    }
+}
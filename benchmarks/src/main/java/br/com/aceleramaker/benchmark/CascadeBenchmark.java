@@ -0,0 +1,91 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks the opening cascade of Board.openField.
+ * </p>
+ * Each invocation opens a field with no mines around it on a fresh board,
+ * so the size of the revealed area depends on the density of mines.
+ * The board is rebuilt from the same seed before every invocation,
+ * outside the measured time.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class CascadeBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({BoardSize.SMALL, BoardSize.MEDIUM, BoardSize.LARGE, BoardSize.HUGE})
+    public String size;
+
+    @Param({"0.05", "0.12", "0.20"})
+    public double density;
+
+    private BoardSize boardSize;
+    private int mines;
+    private int startRow;
+    private int startColumn;
+
+    private Board board;
+
+    @Setup(Level.Trial)
+    public void findStart() {
+        boardSize = BoardSize.parse(size);
+        mines = boardSize.mines(density);
+
+        Board layout = new Board(boardSize.rows(), boardSize.cols(), mines, SEED);
+        Field start = null;
+
+        search:
+        for (int row = 0; row < boardSize.rows(); row++) {
+            for (int column = 0; column < boardSize.cols(); column++) {
+                Field field = layout.getField(row, column);
+                if (field.isMined()) {
+                    continue;
+                }
+                // dense small boards may have no empty area at all
+                if (start == null) {
+                    start = field;
+                }
+                if (field.getNeighboringFields().stream().noneMatch(Field::isMined)) {
+                    start = field;
+                    break search;
+                }
+            }
+        }
+
+        startRow = start.getRow();
+        startColumn = start.getColumn();
+    }
+
+    @Setup(Level.Invocation)
+    public void newBoard() {
+        board = new Board(boardSize.rows(), boardSize.cols(), mines, SEED);
+    }
+
+    @Benchmark
+    public int openField() {
+        return board.openField(startRow, startColumn);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.exception.ExplosionException;
+import br.com.aceleramaker.model.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks a batch of moves applied with Board.applyCommands against one call per move.
+ * </p>
+ * The moves are random openings and marks, a tenth of them marks, so some
+ * of them explode. A new board is built before each invocation, outside
+ * the measured time, so every invocation plays the same game.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class CommandBenchmark {
+
+    private static final long SEED = 42L;
+    private static final double DENSITY = 0.16;
+
+    @Param({BoardSize.MEDIUM, BoardSize.LARGE})
+    public String size;
+
+    @Param({"64", "4096"})
+    public int moves;
+
+    private BoardSize boardSize;
+    private int[] commands;
+    private int[] results;
+    private Board board;
+
+    @Setup(Level.Trial)
+    public void createCommands() {
+        boardSize = BoardSize.parse(size);
+        commands = new int[moves * Board.COMMAND_SIZE];
+        results = new int[moves];
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < commands.length; i += Board.COMMAND_SIZE) {
+            commands[i] = random.nextInt(10) == 0 ? Board.TOGGLE_MARK : Board.OPEN;
+            commands[i + 1] = random.nextInt(boardSize.rows());
+            commands[i + 2] = random.nextInt(boardSize.cols());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBoard() {
+        board = new Board(boardSize.rows(), boardSize.cols(), boardSize.mines(DENSITY), SEED);
+    }
+
+    @Benchmark
+    public int[] batched() {
+        board.applyCommands(commands, results);
+        return results;
+    }
+
+    @Benchmark
+    public int[] single() {
+        for (int i = 0; i < moves; i++) {
+            int command = i * Board.COMMAND_SIZE;
+            int row = commands[command + 1];
+            int column = commands[command + 2];
+
+            if (commands[command] == Board.TOGGLE_MARK) {
+                board.toggleMark(row, column);
+                results[i] = 1;
+            } else {
+                try {
+                    results[i] = board.openField(row, column);
+                } catch (ExplosionException e) {
+                    results[i] = Board.EXPLODED;
+                }
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.ConcurrentBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks a ConcurrentBoard shared by many threads.
+ * </p>
+ * Every thread marks and opens random fields of the same board.
+ * Run with an increasing number of threads to see how throughput scales,
+ * e.g. {@code java -jar benchmarks.jar ConcurrentBoardBenchmark -t 1,2,4,8}.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentBoardBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedBoard {
+
+        @Param({BoardSize.LARGE})
+        public String size;
+
+        @Param({"0.16"})
+        public double density;
+
+        BoardSize boardSize;
+        ConcurrentBoard board;
+
+        @Setup
+        public void setUp() {
+            boardSize = BoardSize.parse(size);
+            board = new ConcurrentBoard(boardSize.rows(), boardSize.cols(), boardSize.mines(density), 42L);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Player {
+
+        SplittableRandom random;
+
+        @Setup
+        public void setUp() {
+            random = new SplittableRandom(Thread.currentThread().threadId());
+        }
+    }
+
+    @Benchmark
+    public int toggleMark(SharedBoard shared, Player player) {
+        BoardSize size = shared.boardSize;
+        shared.board.toggleMark(player.random.nextInt(size.rows()), player.random.nextInt(size.cols()));
+        return shared.board.remainingFields();
+    }
+
+    @Benchmark
+    public int openField(SharedBoard shared, Player player) {
+        BoardSize size = shared.boardSize;
+        try {
+            return shared.board.openField(player.random.nextInt(size.rows()), player.random.nextInt(size.cols()));
+        } catch (RuntimeException e) {
+            // an explosion reveals the mines, the next moves find them opened
+            return 0;
+        }
+    }
+}
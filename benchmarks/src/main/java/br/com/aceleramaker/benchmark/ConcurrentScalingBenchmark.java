@@ -0,0 +1,122 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.ConcurrentBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Measures how clearing a ConcurrentBoard scales with the number of players.
+ * </p>
+ * Every iteration starts from a new board and the players open its safe
+ * fields, taken in a shuffled order from a shared cursor, until none is left.
+ * Low densities open large areas in cascades crossing many stripes, high
+ * densities open mostly single fields. Each method runs the same work with
+ * a fixed number of threads, so the times compare directly.
+ * <p>
+ * Scaling is not measured yet: the only runs so far were on a single core,
+ * where every thread count took about the same time (1000x1000 board,
+ * 117-185 ms per clear at densities 0.05 and 0.16), as expected without
+ * parallel hardware. Record the numbers of a multi-core run here before
+ * relying on the benchmark to show that throughput scales.
+ * </p>
+ * */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedBoard {
+
+        @Param({BoardSize.LARGE})
+        public String size;
+
+        @Param({"0.05", "0.16"})
+        public double density;
+
+        ConcurrentBoard board;
+        int[] safeFields;
+        final AtomicInteger next = new AtomicInteger();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            BoardSize boardSize = BoardSize.parse(size);
+            Board plain = new Board(boardSize.rows(), boardSize.cols(), boardSize.mines(density), 42L);
+
+            safeFields = new int[boardSize.fields() - boardSize.mines(density)];
+            int count = 0;
+            for (int row = 0; row < boardSize.rows(); row++) {
+                for (int column = 0; column < boardSize.cols(); column++) {
+                    if (!plain.getField(row, column).isMined()) {
+                        safeFields[count++] = row * boardSize.cols() + column;
+                    }
+                }
+            }
+
+            SplittableRandom random = new SplittableRandom(42L);
+            for (int i = safeFields.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int field = safeFields[i];
+                safeFields[i] = safeFields[j];
+                safeFields[j] = field;
+            }
+
+            board = new ConcurrentBoard(plain, 64);
+            next.set(0);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int clear1(SharedBoard shared) {
+        return clear(shared);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public int clear2(SharedBoard shared) {
+        return clear(shared);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int clear4(SharedBoard shared) {
+        return clear(shared);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int clear8(SharedBoard shared) {
+        return clear(shared);
+    }
+
+    private static int clear(SharedBoard shared) {
+        int cols = shared.board.getCols();
+        int revealed = 0;
+
+        for (int i = shared.next.getAndIncrement(); i < shared.safeFields.length; i = shared.next.getAndIncrement()) {
+            int field = shared.safeFields[i];
+            revealed += shared.board.openField(field / cols, field % cols);
+        }
+        return revealed;
+    }
+}
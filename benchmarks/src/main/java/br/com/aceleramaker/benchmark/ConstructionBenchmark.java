@@ -0,0 +1,50 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks building a board at every power of ten from 10^2 to 10^7 fields.
+ * </p>
+ * Construction wires the neighbors through the adjacency table and places
+ * the mines, so the average time divided by the fields should stay about
+ * the same across sizes. A quadratic step would multiply it by 10 per size.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ConstructionBenchmark {
+
+    @Param({"10x10", "10x100", "100x100", "100x1000", "1000x1000", "10000x1000"})
+    public String size;
+
+    private BoardSize boardSize;
+    private int mines;
+
+    @Setup
+    public void setUp() {
+        boardSize = BoardSize.parse(size);
+        mines = boardSize.mines(0.16);
+    }
+
+    @Benchmark
+    public Board construct() {
+        return new Board(boardSize.rows(), boardSize.cols(), mines, 42L);
+    }
+}
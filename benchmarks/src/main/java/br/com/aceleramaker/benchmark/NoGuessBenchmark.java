@@ -0,0 +1,66 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.solver.NoGuessGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks the generation of boards without guesses, in boards per second.
+ * </p>
+ * Layouts are given as "rows x cols / mines", from the Expert board
+ * (30x16, 99 mines, about 20% of the fields) up to 100x100. The larger
+ * layouts use 16% of mines, as boards without guesses get rare quickly
+ * as the board grows at the Expert density. The first click is in the
+ * middle of the board.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NoGuessBenchmark {
+
+    @Param({"16x30/99", "30x30/144", "50x50/400", "100x100/1600"})
+    public String layout;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private BoardSize boardSize;
+    private int mines;
+    private NoGuessGenerator generator;
+
+    @Setup(Level.Trial)
+    public void startGenerator() {
+        String[] parts = layout.split("/");
+        boardSize = BoardSize.parse(parts[0]);
+        mines = Integer.parseInt(parts[1]);
+        generator = new NoGuessGenerator(threads, Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopGenerator() {
+        generator.close();
+    }
+
+    @Benchmark
+    public Board generate() {
+        return generator.generate(boardSize.rows(), boardSize.cols(), mines, boardSize.rows() / 2, boardSize.cols() / 2);
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.solver.ConstraintSolver;
+import br.com.aceleramaker.solver.ProbabilitySolver;
+import br.com.aceleramaker.solver.Solution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks the probability solver against the number of worker threads.
+ * </p>
+ * Before the measurement the board is played with the constraint solver
+ * until it can prove nothing else, the point where probabilities are needed.
+ * A new solver is built on each invocation, so the shape cache only helps
+ * within a single call.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ProbabilitySolverBenchmark {
+
+    private static final long SEED = 42L;
+    private static final double DENSITY = 0.18;
+
+    @Param({"16x30", BoardSize.MEDIUM, "300x300"})
+    public String size;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private Board board;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void playUntilStuck() {
+        BoardSize boardSize = BoardSize.parse(size);
+        board = new Board(boardSize.rows(), boardSize.cols(), boardSize.mines(DENSITY), SEED);
+        pool = new ForkJoinPool(threads);
+
+        openFirstSafeField();
+
+        ConstraintSolver solver = new ConstraintSolver();
+        Solution solution = solver.solve(board);
+        while (!solution.isEmpty()) {
+            for (int index : solution.safeFields()) {
+                board.openField(index / board.getCols(), index % board.getCols());
+            }
+            for (int index : solution.minedFields()) {
+                board.toggleMark(index / board.getCols(), index % board.getCols());
+            }
+            solution = solver.solve(board);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closePool() {
+        pool.close();
+    }
+
+    @Benchmark
+    public double[] mineProbabilities() {
+        return new ProbabilitySolver(board, pool).mineProbabilities();
+    }
+
+    private void openFirstSafeField() {
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int column = 0; column < board.getCols(); column++) {
+                if (!board.getField(row, column).isMined()) {
+                    board.openField(row, column);
+                    return;
+                }
+            }
+        }
+    }
+}
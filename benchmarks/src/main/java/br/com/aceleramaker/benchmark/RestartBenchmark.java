@@ -0,0 +1,83 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.LayoutPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks the latency of Board.restartBoard with and without a LayoutPool.
+ * </p>
+ * Players restart now and then, not back to back, so before each pooled
+ * restart the benchmark waits, outside the measured time, for the pool
+ * to have a layout ready. The hits and misses are printed per trial.
+ * */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class RestartBenchmark {
+
+    private static final long SEED = 42L;
+    private static final double DENSITY = 0.16;
+
+    @Param({BoardSize.SMALL, BoardSize.MEDIUM, BoardSize.LARGE, BoardSize.HUGE})
+    public String size;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private BoardSize boardSize;
+    private int mines;
+    private Board board;
+    private LayoutPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boardSize = BoardSize.parse(size);
+        mines = boardSize.mines(DENSITY);
+        board = new Board(boardSize.rows(), boardSize.cols(), mines, SEED);
+
+        if (pooled) {
+            pool = new LayoutPool(2, 1);
+            board.setLayoutPool(pool);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void awaitLayout() throws InterruptedException {
+        while (pooled && pool.available(boardSize.rows(), boardSize.cols(), mines) == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pooled) {
+            System.out.printf("%nlayout pool hits: %d, misses: %d%n", pool.getHits(), pool.getMisses());
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public Board restartBoard() {
+        board.restartBoard();
+        return board;
+    }
+}
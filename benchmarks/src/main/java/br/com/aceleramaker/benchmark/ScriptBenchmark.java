@@ -0,0 +1,78 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.view.CommandScript;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks playing a script of moves with CommandScript.
+ * </p>
+ * The script has random openings, marks and chords on a 1000x1000 board,
+ * one in ten of them a mark. A new board is built before each invocation,
+ * outside the measured time. Run with {@code -prof gc} to see the allocation
+ * per move, which should be close to nothing.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ScriptBenchmark {
+
+    private static final long SEED = 42L;
+    private static final double DENSITY = 0.16;
+
+    @Param({"10000", "1000000"})
+    public int moves;
+
+    private BoardSize boardSize;
+    private ByteBuffer script;
+    private Board board;
+
+    @Setup(Level.Trial)
+    public void writeScript() {
+        boardSize = BoardSize.parse(BoardSize.LARGE);
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        StringBuilder text = new StringBuilder(moves * 12);
+        for (int i = 0; i < moves; i++) {
+            int action = random.nextInt(10);
+            text.append(action == 0 ? 'm' : action == 1 ? 'c' : 'o')
+                    .append(' ')
+                    .append(random.nextInt(boardSize.rows()))
+                    .append(',')
+                    .append(random.nextInt(boardSize.cols()))
+                    .append('\n');
+        }
+        script = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Setup(Level.Invocation)
+    public void createBoard() {
+        board = new Board(boardSize.rows(), boardSize.cols(), boardSize.mines(DENSITY), SEED);
+        script.rewind();
+    }
+
+    @Benchmark
+    public CommandScript.Result play() {
+        return CommandScript.play(board, script);
+    }
+}
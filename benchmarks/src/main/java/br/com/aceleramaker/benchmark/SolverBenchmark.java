@@ -0,0 +1,104 @@
+package br.com.aceleramaker.benchmark;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.solver.ConstraintSolver;
+import br.com.aceleramaker.solver.Solution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks the constraint solver against the size of the frontier.
+ * </p>
+ * Every field with no mines around it is opened before the measurement,
+ * so the board shows every empty area and the frontier grows with the
+ * board. The frontier size, the closed fields next to an opened one,
+ * is printed once per trial to relate it to the solve time.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+    private static final long SEED = 42L;
+    private static final double DENSITY = 0.15;
+
+    @Param({BoardSize.MEDIUM, "300x300", BoardSize.LARGE, "3000x1000"})
+    public String size;
+
+    private Board board;
+    private ConstraintSolver solver;
+
+    @Setup(Level.Trial)
+    public void openEmptyAreas() {
+        BoardSize boardSize = BoardSize.parse(size);
+        board = new Board(boardSize.rows(), boardSize.cols(), boardSize.mines(DENSITY), SEED);
+        solver = new ConstraintSolver();
+
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int column = 0; column < board.getCols(); column++) {
+                if (!board.isOpened(row, column) && !board.getField(row, column).isMined()
+                        && minesAround(row, column) == 0) {
+                    board.openField(row, column);
+                }
+            }
+        }
+
+        System.out.printf("%nfrontier: %,d fields%n", frontier());
+    }
+
+    @Benchmark
+    public Solution solve() {
+        return solver.solve(board);
+    }
+
+    private int minesAround(int row, int column) {
+        int mines = 0;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, board.getRows() - 1); r++) {
+            for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, board.getCols() - 1); c++) {
+                if (board.getField(r, c).isMined()) {
+                    mines++;
+                }
+            }
+        }
+        return mines;
+    }
+
+    private int frontier() {
+        int fields = 0;
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int column = 0; column < board.getCols(); column++) {
+                if (!board.isOpened(row, column) && hasOpenedNeighbor(row, column)) {
+                    fields++;
+                }
+            }
+        }
+        return fields;
+    }
+
+    private boolean hasOpenedNeighbor(int row, int column) {
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, board.getRows() - 1); r++) {
+            for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, board.getCols() - 1); c++) {
+                if (board.isOpened(r, c)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
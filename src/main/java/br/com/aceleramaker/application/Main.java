@@ -1,11 +1,108 @@
 package br.com.aceleramaker.application;
 
 import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.server.GameServer;
+import br.com.aceleramaker.simulation.RandomStrategy;
+import br.com.aceleramaker.simulation.Simulation;
+import br.com.aceleramaker.simulation.SimulationResult;
+import br.com.aceleramaker.simulation.SolverStrategy;
+import br.com.aceleramaker.simulation.Strategy;
 import br.com.aceleramaker.view.BoardConsoleView;
+import br.com.aceleramaker.view.CommandScript;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.function.Supplier;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+
+            try (GameServer server = new GameServer(port, 6, 6, 6, Duration.ofMinutes(5))) {
+                System.out.println("Listening on port " + server.getPort());
+                server.serve();
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("simulate")) {
+            simulate(args);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("script")) {
+            script(args);
+            return;
+        }
+
         Board board = new Board(6,6,6);
         new BoardConsoleView(board);
     }
+
+    /**
+     * <p>
+     * Plays a script of moves from a file, or the standard input when it is "-".
+     * </p>
+     * Usage: {@code script [file|-] [rows] [cols] [mines] [seed]}, see {@link CommandScript}
+     * for the format of the script.
+     * */
+    private static void script(String[] args) throws IOException {
+        String file = args.length > 1 ? args[1] : "-";
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int cols = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+        int mines = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        Board board = new Board(rows, cols, mines, seed);
+        long start = System.nanoTime();
+        CommandScript.Result result;
+        if (file.equals("-")) {
+            // the standard input is not ours to close
+            result = CommandScript.play(board, Channels.newChannel(System.in));
+        } else {
+            try (ReadableByteChannel channel = FileChannel.open(Path.of(file), StandardOpenOption.READ)) {
+                result = CommandScript.play(board, channel);
+            }
+        }
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+
+        System.out.printf("moves: %,d, revealed: %,d, explosions: %,d, restarts: %,d, seed: %d%n",
+                result.moves(), result.revealed(), result.explosions(), result.restarts(), seed);
+        System.out.printf("moves/sec: %,.0f, remaining fields: %,d%n",
+                result.moves() == 0 ? 0.0 : result.moves() / (elapsed / 1e9), board.remainingFields());
+    }
+
+    /**
+     * <p>
+     * Plays games without a console, printing the statistics every second.
+     * </p>
+     * Usage: {@code simulate [games] [rows] [cols] [mines] [random|solver] [threads] [seed]}
+     * */
+    private static void simulate(String[] args) {
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int cols = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int mines = args.length > 4 ? Integer.parseInt(args[4]) : 99;
+        String strategy = args.length > 5 ? args[5] : "solver";
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 7 ? Long.parseLong(args[7]) : System.nanoTime();
+
+        Supplier<Strategy> strategies = switch (strategy) {
+            case "random" -> RandomStrategy::new;
+            case "solver" -> SolverStrategy::new;
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        };
+
+        System.out.printf("simulating %,d games of %dx%d with %d mines, %s strategy, %d threads, seed %d%n",
+                games, rows, cols, mines, strategy, threads, seed);
+        SimulationResult result = new Simulation(rows, cols, mines, strategies, threads)
+                .run(games, seed, Duration.ofSeconds(1), System.out::println);
+        System.out.println(result);
+    }
 }
@@ -1,7 +1,16 @@
 package br.com.aceleramaker.exception;
 
+/**
+ * <p>
+ * Thrown when a mined field is opened, ending the game.
+ * </p>
+ * Losing is part of the game rather than an error, so the exception
+ * does not fill in a stack trace. Callers that lose often should use
+ * {@link br.com.aceleramaker.model.Board#open(int, int)}, which returns
+ * the outcome instead of throwing.
+ * */
 public class ExplosionException extends RuntimeException {
     public ExplosionException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,140 @@
+package br.com.aceleramaker.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Sink keeping counters and histograms of every board operation.
+ * </p>
+ * Latencies and sizes are counted in power of two buckets: bucket 0 holds
+ * the value 0 and bucket {@code b} the values from {@code 2^(b-1)} to
+ * {@code 2^b - 1}. Percentiles are reported as the upper bound of their
+ * bucket, so they are at most twice the real value, in exchange for a
+ * fixed footprint and a record that only adds to counters.
+ * <p>
+ * The values can be read at any time, e.g. by an exporter polling the
+ * sink, while the board keeps recording from other threads.
+ * </p>
+ * */
+public class BoardMetrics implements MetricsSink {
+
+    private static final int BUCKETS = Long.SIZE;
+    private static final int OPERATIONS = Operation.values().length;
+
+    private final LongAdder[] counts = new LongAdder[OPERATIONS];
+    private final LongAdder[] totalNanos = new LongAdder[OPERATIONS];
+    private final LongAdder[] totalSizes = new LongAdder[OPERATIONS];
+
+    // one row of buckets per operation
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(OPERATIONS * BUCKETS);
+    private final AtomicLongArray sizeBuckets = new AtomicLongArray(OPERATIONS * BUCKETS);
+
+    public BoardMetrics() {
+        for (int i = 0; i < OPERATIONS; i++) {
+            counts[i] = new LongAdder();
+            totalNanos[i] = new LongAdder();
+            totalSizes[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void record(Operation operation, long nanos, int size) {
+        int row = operation.ordinal();
+
+        counts[row].increment();
+        totalNanos[row].add(nanos);
+        totalSizes[row].add(size);
+        latencyBuckets.incrementAndGet(row * BUCKETS + bucket(nanos));
+        sizeBuckets.incrementAndGet(row * BUCKETS + bucket(size));
+    }
+
+    public long getCount(Operation operation) {
+        return counts[operation.ordinal()].sum();
+    }
+
+    public long getTotalNanos(Operation operation) {
+        return totalNanos[operation.ordinal()].sum();
+    }
+
+    public long getTotalSize(Operation operation) {
+        return totalSizes[operation.ordinal()].sum();
+    }
+
+    /**
+     * <p>
+     * Gets a percentile of the latency of an operation.
+     * </p>
+     * @param operation the operation.
+     * @param percentile the percentile, from 0 to 100.
+     * @return upper bound of the percentile in nanoseconds, or 0 if the operation was not recorded.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     * */
+    public long getLatencyPercentile(Operation operation, double percentile) {
+        return percentile(latencyBuckets, operation, percentile);
+    }
+
+    /**
+     * <p>
+     * Gets a percentile of the size of an operation, like the fields revealed by an opening.
+     * </p>
+     * @param operation the operation.
+     * @param percentile the percentile, from 0 to 100.
+     * @return upper bound of the percentile, or 0 if the operation was not recorded.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     * */
+    public long getSizePercentile(Operation operation, double percentile) {
+        return percentile(sizeBuckets, operation, percentile);
+    }
+
+    /**
+     * <p>
+     * Clears every counter and histogram.
+     * </p>
+     * Operations recorded while resetting may be partially kept.
+     * */
+    public void reset() {
+        for (int i = 0; i < OPERATIONS; i++) {
+            counts[i].reset();
+            totalNanos[i].reset();
+            totalSizes[i].reset();
+        }
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            latencyBuckets.set(i, 0L);
+            sizeBuckets.set(i, 0L);
+        }
+    }
+
+    private static long percentile(AtomicLongArray buckets, Operation operation, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile. It must be between 0 and 100");
+        }
+
+        int row = operation.ordinal() * BUCKETS;
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            total += buckets.get(row + b);
+        }
+        if (total == 0) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets.get(row + b);
+            if (seen >= rank) {
+                return upperBound(b);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int bucket(long value) {
+        return value <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(value);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0L : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.aceleramaker.metrics;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * Sink turning outliers into JDK Flight Recorder events.
+ * </p>
+ * Operations slower than a threshold are committed as
+ * {@code br.com.aceleramaker.SlowMove} events, and openings revealing more
+ * fields than a threshold as {@code br.com.aceleramaker.LargeCascade} events.
+ * Other operations are ignored, so events are only allocated for outliers,
+ * and are dropped by Flight Recorder unless a recording enables them.
+ * Combine it with a {@link BoardMetrics} through {@link MetricsSink#andThen(MetricsSink)}
+ * to keep the histograms as well.
+ * */
+public class JfrMetricsSink implements MetricsSink {
+
+    private static final Duration DEFAULT_SLOW_MOVE = Duration.ofMillis(10);
+    private static final int DEFAULT_LARGE_CASCADE = 10_000;
+
+    private final long slowMoveNanos;
+    private final int largeCascadeFields;
+
+    /**
+     * <p>
+     * Constructs a sink reporting operations over 10 ms and cascades over 10000 fields.
+     * </p>
+     * */
+    public JfrMetricsSink() {
+        this(DEFAULT_SLOW_MOVE, DEFAULT_LARGE_CASCADE);
+    }
+
+    /**
+     * <p>
+     * Constructs a sink.
+     * </p>
+     * @param slowMove shortest time of an operation reported as slow.
+     * @param largeCascadeFields smallest number of fields revealed by a cascade reported as large.
+     * @throws IllegalArgumentException if a threshold is negative.
+     * */
+    public JfrMetricsSink(Duration slowMove, int largeCascadeFields) {
+        if (slowMove.isNegative() || largeCascadeFields < 0) {
+            throw new IllegalArgumentException("Invalid thresholds. They cannot be negative");
+        }
+        this.slowMoveNanos = slowMove.toNanos();
+        this.largeCascadeFields = largeCascadeFields;
+    }
+
+    @Override
+    public void record(Operation operation, long nanos, int size) {
+        if (nanos >= slowMoveNanos) {
+            SlowMoveEvent event = new SlowMoveEvent();
+            event.operation = operation.name();
+            event.nanos = nanos;
+            event.size = size;
+            event.commit();
+        }
+
+        if (operation == Operation.OPEN_FIELD && size >= largeCascadeFields) {
+            LargeCascadeEvent event = new LargeCascadeEvent();
+            event.revealed = size;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.aceleramaker.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * <p>
+ * Flight Recorder event for an opening that revealed more fields than a threshold, see {@link JfrMetricsSink}.
+ * </p>
+ * */
+@Name("br.com.aceleramaker.LargeCascade")
+@Label("Large Cascade")
+@Category("Minesweeper")
+@Description("Opening of a field that revealed a large empty area")
+class LargeCascadeEvent extends Event {
+
+    @Label("Fields Revealed")
+    int revealed;
+
+    @Label("Time Taken")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+}
@@ -0,0 +1,67 @@
+package br.com.aceleramaker.metrics;
+
+/**
+ * <p>
+ * Entry point of the instrumentation of the board operations.
+ * </p>
+ * Operations are timed with a pair of calls:
+ * <pre>
+ *     long start = Metrics.start();
+ *     ...
+ *     Metrics.stop(Operation.OPEN_FIELD, start, revealed);
+ * </pre>
+ * While the sink is {@link MetricsSink#NOOP}, the default, {@code start}
+ * returns 0 without reading the clock and {@code stop} does nothing,
+ * so the instrumentation costs a volatile read and never allocates.
+ * */
+public final class Metrics {
+
+    private static volatile MetricsSink sink = MetricsSink.NOOP;
+
+    private Metrics() {
+    }
+
+    /**
+     * <p>
+     * Installs the sink receiving the measurements of every board.
+     * </p>
+     * @param sink the sink, or {@link MetricsSink#NOOP} to stop measuring.
+     * @throws IllegalArgumentException if the sink is null.
+     * */
+    public static void setSink(MetricsSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Invalid sink. Use MetricsSink.NOOP to stop measuring");
+        }
+        Metrics.sink = sink;
+    }
+
+    public static MetricsSink getSink() {
+        return sink;
+    }
+
+    /**
+     * <p>
+     * Starts timing an operation.
+     * </p>
+     * @return the current time in nanoseconds, or 0 when nothing is measured.
+     * */
+    public static long start() {
+        return sink == MetricsSink.NOOP ? 0L : System.nanoTime();
+    }
+
+    /**
+     * <p>
+     * Stops timing an operation and hands it to the sink.
+     * </p>
+     * Does nothing when the operation was not timed by {@link #start()}.
+     *
+     * @param operation the operation measured.
+     * @param start the value returned by {@link #start()}.
+     * @param size size of the operation.
+     * */
+    public static void stop(Operation operation, long start, int size) {
+        if (start != 0L) {
+            sink.record(operation, System.nanoTime() - start, size);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.aceleramaker.metrics;
+
+/**
+ * <p>
+ * Receives the measurements of board operations.
+ * </p>
+ * Sinks are called on the thread of the operation, often on every click,
+ * so they must be thread-safe and should not block or allocate.
+ * Exporting the data to other systems should happen elsewhere,
+ * reading what the sink accumulated.
+ * */
+@FunctionalInterface
+public interface MetricsSink {
+
+    /**
+     * Sink that ignores every measurement. While it is installed
+     * the operations are not even timed, see {@link Metrics#start()}.
+     * */
+    MetricsSink NOOP = (operation, nanos, size) -> { };
+
+    /**
+     * Records an operation.
+     *
+     * @param operation the operation measured.
+     * @param nanos time taken by the operation, in nanoseconds.
+     * @param size size of the operation, as described by each {@link Operation}.
+     * */
+    void record(Operation operation, long nanos, int size);
+
+    /**
+     * Combines this sink with another one, which receives every measurement after this sink.
+     *
+     * @param next the other sink.
+     * @return a sink recording into both.
+     * */
+    default MetricsSink andThen(MetricsSink next) {
+        return (operation, nanos, size) -> {
+            record(operation, nanos, size);
+            next.record(operation, nanos, size);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.aceleramaker.metrics;
+
+/**
+ * <p>
+ * Board operations measured by the metrics, see {@link Metrics}.
+ * </p>
+ * Each operation reports a size along with its latency.
+ * */
+public enum Operation {
+
+    /** Building a board, sized by its fields. */
+    CONSTRUCT,
+    /** Placing the mines, sized by the mines placed. */
+    PLACE_MINES,
+    /** Opening a field, sized by the fields revealed by the cascade. */
+    OPEN_FIELD,
+    /** Chording an opened number, sized by the fields revealed. */
+    CHORD,
+    /** Toggling a mark, sized 1 when the mark changed. */
+    TOGGLE_MARK,
+    /** Checking if the game was won, sized 1 when it was. */
+    GOAL_ACHIEVED,
+    /** Rendering a board, sized by the fields written. */
+    RENDER
+}
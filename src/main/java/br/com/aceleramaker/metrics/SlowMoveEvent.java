@@ -0,0 +1,30 @@
+package br.com.aceleramaker.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * <p>
+ * Flight Recorder event for a board operation slower than a threshold, see {@link JfrMetricsSink}.
+ * </p>
+ * */
+@Name("br.com.aceleramaker.SlowMove")
+@Label("Slow Move")
+@Category("Minesweeper")
+@Description("Board operation that took longer than the threshold")
+class SlowMoveEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Time Taken")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+
+    @Label("Size")
+    int size;
+}
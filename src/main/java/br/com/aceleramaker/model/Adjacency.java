@@ -0,0 +1,104 @@
+package br.com.aceleramaker.model;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Precomputed adjacency table of the fields of a board.
+ * </p>
+ * Fields are stored row by row, so each neighbor of a field is at a fixed
+ * distance from its index, from {@code -cols - 1} to {@code cols + 1},
+ * and only the borders of the board leave some of them out. The table keeps
+ * the distances for each of the 16 combinations of borders a field may
+ * touch, so it takes the same few hundred bytes for any board size instead
+ * of 8 indexes per field. Finding the neighbors of a field checks its
+ * borders once instead of bounding each of the 8 positions.
+ * <p>
+ * Distances are listed in the order of {@link Neighbors}.
+ * </p>
+ * */
+final class Adjacency {
+
+    private static final int TOP = 1;
+    private static final int BOTTOM = 2;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
+
+    private final int rows;
+    private final int cols;
+
+    // distances to the neighbors, by the borders touched by the field
+    private final int[][] distances = new int[16][];
+
+    /**
+     * <p>
+     * Builds the table for a board size.
+     * </p>
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * */
+    Adjacency(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+
+        for (int borders = 0; borders < distances.length; borders++) {
+            int[] around = new int[Neighbors.COUNT];
+            int count = 0;
+
+            for (int i = 0; i < Neighbors.COUNT; i++) {
+                int rowOffset = Neighbors.rowOffset(i);
+                int colOffset = Neighbors.colOffset(i);
+
+                if ((rowOffset < 0 && (borders & TOP) != 0) || (rowOffset > 0 && (borders & BOTTOM) != 0)
+                        || (colOffset < 0 && (borders & LEFT) != 0) || (colOffset > 0 && (borders & RIGHT) != 0)) {
+                    continue;
+                }
+                around[count++] = rowOffset * cols + colOffset;
+            }
+            distances[borders] = Arrays.copyOf(around, count);
+        }
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getCols() {
+        return cols;
+    }
+
+    /**
+     * <p>
+     * Gets the distances from a field to its neighbors.
+     * </p>
+     * The array is shared by every field touching the same borders
+     * and must not be changed.
+     *
+     * @param index index of the field.
+     * @return distances to add to the index to get each neighbor.
+     * */
+    int[] distances(int index) {
+        int row = index / cols;
+        int column = index - row * cols;
+
+        int borders = (row == 0 ? TOP : 0) | (row == rows - 1 ? BOTTOM : 0)
+                | (column == 0 ? LEFT : 0) | (column == cols - 1 ? RIGHT : 0);
+        return distances[borders];
+    }
+
+    /**
+     * <p>
+     * Finds the neighbors of a field.
+     * </p>
+     * @param index index of the field.
+     * @param neighbors array of at least 8 positions filled with the neighbor indexes.
+     * @return number of neighbors found.
+     * */
+    int neighbors(int index, int[] neighbors) {
+        int[] around = distances(index);
+        for (int i = 0; i < around.length; i++) {
+            neighbors[i] = index + around[i];
+        }
+        return around.length;
+    }
+}
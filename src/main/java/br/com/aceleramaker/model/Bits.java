@@ -0,0 +1,69 @@
+package br.com.aceleramaker.model;
+
+/**
+ * <p>
+ * Helpers to handle bitsets stored in arrays of long.
+ * </p>
+ * Bit {@code i} is stored in word {@code i / 64}, at position {@code i % 64}.
+ * Small counters (0 to 15) can also be packed as 4-bit nibbles,
+ * 16 per word.
+ * */
+final class Bits {
+
+    private Bits() {
+    }
+
+    /**
+     * Gets the number of words needed to store the given number of bits.
+     *
+     * @param bits number of bits.
+     * @return number of long words.
+     * */
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    static boolean get(long[] words, int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    static void set(long[] words, int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    static void clear(long[] words, int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    static void flip(long[] words, int index) {
+        words[index >>> 6] ^= 1L << index;
+    }
+
+    /**
+     * Gets the number of words needed to store the given number of nibbles.
+     *
+     * @param nibbles number of nibbles.
+     * @return number of long words.
+     * */
+    static int nibbleWords(int nibbles) {
+        return (nibbles + 15) >>> 4;
+    }
+
+    static int getNibble(long[] words, int index) {
+        return (int) (words[index >>> 4] >>> ((index & 15) << 2)) & 0xF;
+    }
+
+    /**
+     * <p>
+     * Adds to the nibble at the given index.
+     * </p>
+     * The result must stay between 0 and 15, as carries are not handled.
+     *
+     * @param words the packed nibbles.
+     * @param index index of the nibble.
+     * @param delta value to be added, may be negative.
+     * */
+    static void addNibble(long[] words, int index, int delta) {
+        words[index >>> 4] += (long) delta << ((index & 15) << 2);
+    }
+}
@@ -1,44 +1,242 @@
 package br.com.aceleramaker.model;
 
 import br.com.aceleramaker.exception.ExplosionException;
+import br.com.aceleramaker.metrics.Metrics;
+import br.com.aceleramaker.metrics.Operation;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * <p>
  * This class represents the Board of the game.
  * </p>
  * The board has a number of rows, columns and mines.
+ * The state of the fields is kept in bitsets (mined, opened and marked),
+ * one bit per field stored row by row. The number of mines around each
+ * field is kept as well, packed in 4 bits per field and updated whenever
+ * a field is mined or restarted, so a board takes 7 bits per field. Opening
+ * an area only adds a stack of the empty fields whose neighbors are still
+ * to be opened, see {@link Cascade}.
+ * {@link Field} objects are only views over this state.
  * */
-public class Board {
+public final class Board {
+
+    static final int[] NO_FIELDS = new int[0];
+
+    /** Command opening a field, see {@link #applyCommands(int[], int[])}. */
+    public static final int OPEN = 1;
+    /** Command toggling the mark of a field, see {@link #applyCommands(int[], int[])}. */
+    public static final int TOGGLE_MARK = 2;
+    /** Command chording an opened field, see {@link #chord(int, int)}. */
+    public static final int CHORD = 3;
+    /** Ints taken by each command: the command, the row and the column. */
+    public static final int COMMAND_SIZE = 3;
+    /** Result of a command that opened a mined field. */
+    public static final int EXPLODED = -1;
 
     private int rows;
     private int cols;
     private int mines;
 
-    private final List<Field> fields = new ArrayList<>();
+    private final long seed;
+    private final RandomGenerator random;
+
+    // swapped for a ready layout on restart when a LayoutPool is used
+    private long[] minedPlane;
+    private final long[] openedPlane;
+    private final long[] markedPlane;
+    private long[] neighborhoodMines;
+
+    private final Adjacency adjacency;
+    private final List<Field> fields;
+    private final Cascade cascade;
+
+    private LayoutPool layoutPool;
+
+    // seed of the mines of the next restart, drawn ahead for the LayoutPool to prepare
+    private long nextLayoutSeed;
+    private boolean nextLayoutSeedDrawn;
+
+    // first click the mines were placed around, -1 when placed over every field
+    private int safeStart = -1;
+
+    // counters kept up to date as fields change, a ConcurrentBoard keeps its own while shared
+    private int minedFields;
+    private int openedSafeFields;
+    private int markedFields;
+    private int flaggedMines;
 
     /**
      * <p>
      * Constructs a new board.
      * </p>
      * Constructs a board with the given number of rows, cols and mines.
-     * Generates the fields, defining neighbors and sorting mines across the board.
+     * Sorts mines across the board with a random seed.
      *
      * @param rows number of rows.
      * @param cols number of columns.
      * @param mines number of mines.
+     * @throws IllegalArgumentException if the size is negative or too large, or the mines do not fit in the board.
      * */
     public Board(int rows, int cols, int mines) {
+        this(rows, cols, mines, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * <p>
+     * Constructs a new board from a seed.
+     * </p>
+     * Boards built with the same size and seed have the same mines,
+     * including the mines sorted again by {@link #restartBoard()}.
+     *
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * @param mines number of mines.
+     * @param seed seed of the generator used to sort the mines.
+     * @throws IllegalArgumentException if the size is negative or too large, or the mines do not fit in the board.
+     * */
+    public Board(int rows, int cols, int mines, long seed) {
+        this(rows, cols, mines, seed, new SplittableRandom(seed), true);
+    }
+
+    /**
+     * <p>
+     * Constructs a new board sorting mines with the given generator.
+     * </p>
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * @param mines number of mines.
+     * @param random generator used to sort the mines.
+     * @throws IllegalArgumentException if the size is negative or too large, or the mines do not fit in the board.
+     * */
+    public Board(int rows, int cols, int mines, RandomGenerator random) {
+        this(rows, cols, mines, 0L, random, true);
+    }
+
+    private Board(int rows, int cols, int mines, long seed, RandomGenerator random, boolean placeMines) {
+        long start = Metrics.start();
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid board size %dx%d. It must have at most %d fields", rows, cols, Integer.MAX_VALUE)
+            );
+        }
+        if (mines < 0 || mines > rows * cols) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid number of mines. Board size is %dx%d", rows, cols)
+            );
+        }
+
         this.rows = rows;
         this.cols = cols;
         this.mines = mines;
+        this.seed = seed;
+        this.random = random;
+
+        int size = rows * cols;
+        this.minedPlane = new long[Bits.words(size)];
+        this.openedPlane = new long[Bits.words(size)];
+        this.markedPlane = new long[Bits.words(size)];
+        this.neighborhoodMines = new long[Bits.nibbleWords(size)];
+        this.adjacency = new Adjacency(rows, cols);
+        this.fields = new FieldList();
+
+        if (placeMines) {
+            mineFields();
+        }
+
+        this.cascade = new Cascade(this);
+        Metrics.stop(Operation.CONSTRUCT, start, size);
+    }
+
+    /**
+     * <p>
+     * Constructs a new board from a seed, with no mines around a first click.
+     * </p>
+     * The selected field and its neighbors are left out of the mines,
+     * so opening it first reveals an empty area. When the mines do not fit
+     * outside that area, only the selected field is left out.
+     * Restarting the board sorts the mines over every field again.
+     *
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * @param mines number of mines.
+     * @param seed seed of the generator used to sort the mines.
+     * @param row number of the row of the first click.
+     * @param column number of the column of the first click.
+     * @return the board, with the first click still closed.
+     * @throws IllegalArgumentException if the position is outside the board,
+     * or the mines do not fit outside the selected field.
+     * */
+    public static Board withSafeStart(int rows, int cols, int mines, long seed, int row, int column) {
+        Board board = empty(rows, cols, mines, seed);
+        board.checkPosition(row, column);
+
+        int[] start = new int[Neighbors.COUNT + 1];
+        int size = board.neighbors(row * cols + column, start);
+        start[size++] = row * cols + column;
+
+        if (mines > rows * cols - size) {
+            if (mines == rows * cols) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid number of mines. Board size is %dx%d", rows, cols)
+                );
+            }
+            start[0] = row * cols + column;
+            size = 1;
+        }
+
+        int[] excluded = Arrays.copyOf(start, size);
+        Arrays.sort(excluded);
+        board.mineFields(excluded, board.random);
+        board.safeStart = row * cols + column;
+        return board;
+    }
 
-        generateFields();
-        defineNeighbors();
-        mineFields();
+    /**
+     * <p>
+     * Constructs a board without mines, to be filled from a snapshot.
+     * </p>
+     * The state must be written to the bitsets and then {@link #recount()} called.
+     * */
+    static Board empty(int rows, int cols, int mines, long seed) {
+        return new Board(rows, cols, mines, seed, new SplittableRandom(seed), false);
+    }
+
+    /**
+     * <p>
+     * Saves the board to a file.
+     * </p>
+     * Writes the size, mines, safe start and seed followed by the mined, opened and marked
+     * bitsets, through a memory-mapped file. See {@link BoardSnapshot} for the format.
+     *
+     * @param path the file to be written, replaced if it exists.
+     * @throws IOException if the file cannot be written.
+     * */
+    public void save(Path path) throws IOException {
+        BoardSnapshot.write(this, path);
+    }
+
+    /**
+     * <p>
+     * Loads a board saved by {@link #save(Path)}.
+     * </p>
+     * The loaded board keeps the safe start of the saved board, but restarts
+     * with new mines from its seed, which may differ from the restarts of the saved board.
+     *
+     * @param path the file to be read.
+     * @return the board with the saved state.
+     * @throws IOException if the file cannot be read or is not a board snapshot.
+     * */
+    public static Board load(Path path) throws IOException {
+        return BoardSnapshot.read(path);
     }
 
     /**
@@ -64,127 +262,875 @@ public class Board {
      *
      * @return integer number of mines.
      * */
-    int getMines() {
+    public int getMines() {
         return mines;
     }
 
     /**
+     * Gets the seed used to sort the mines.
+     *
+     * @return the seed, or 0 if the board was built with a given generator.
+     * */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * <p>
+     * Gets the row of the first click the mines were placed around.
+     * </p>
+     * Set by {@link #withSafeStart(int, int, int, long, int, int)}, which
+     * together with the seed and the column rebuilds the same mines.
+     *
+     * @return the row, or -1 if the mines were placed over every field,
+     * as by the constructors and {@link #restartBoard()}.
+     * */
+    public int getSafeStartRow() {
+        return safeStart == -1 ? -1 : safeStart / cols;
+    }
+
+    /**
+     * Gets the column of the first click the mines were placed around.
+     *
+     * @return the column, or -1 if the mines were placed over every field.
+     * */
+    public int getSafeStartColumn() {
+        return safeStart == -1 ? -1 : safeStart % cols;
+    }
+
+    /**
+     * <p>
      * Gets the fields of the board.
+     * </p>
+     * The list is read-only and creates a {@link FieldView} on each access,
+     * a small short-lived object, so loops over many fields should prefer
+     * the lookups by position, such as {@link #isOpened(int, int)}.
      *
-     * @return List of Field in the board.
+     * @return List of Field in the board, row by row.
      * */
     List<Field> getFields() {
         return fields;
     }
 
+    /**
+     * <p>
+     * Gets the field at the given position.
+     * </p>
+     * Fields are stored row by row, so the field is a view
+     * of the state at {@code row * cols + column}. A new view is
+     * created on each call, see {@link #getFields()}.
+     *
+     * @param row number of the field's row.
+     * @param column number of the field's column.
+     * @return the Field at the given position.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public Field getField(int row, int column) {
+        checkPosition(row, column);
+        return new FieldView(this, row * cols + column);
+    }
+
+    /**
+     * <p>
+     * Verifies if the field at the given position is opened.
+     * </p>
+     * @param row number of the field's row.
+     * @param column number of the field's column.
+     * @return true if the field is opened.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public boolean isOpened(int row, int column) {
+        checkPosition(row, column);
+        return isOpened(row * cols + column);
+    }
+
+    /**
+     * <p>
+     * Verifies if the field at the given position is marked.
+     * </p>
+     * @param row number of the field's row.
+     * @param column number of the field's column.
+     * @return true if the field is marked.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public boolean isMarked(int row, int column) {
+        checkPosition(row, column);
+        return isMarked(row * cols + column);
+    }
+
+    /**
+     * <p>
+     * Gets the number shown on the field at the given position.
+     * </p>
+     * Only opened safe fields show the number of mines around them,
+     * so the mines of closed fields stay hidden.
+     *
+     * @param row number of the field's row.
+     * @param column number of the field's column.
+     * @return number of mined neighbors, or -1 if the field is closed or mined.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public int getNeighborhoodMines(int row, int column) {
+        checkPosition(row, column);
+        int index = row * cols + column;
+
+        if (!isOpened(index) || isMined(index)) {
+            return -1;
+        }
+        return countNeighborhoodMines(index);
+    }
+
     /**
      * <p>
      * Opens a selected field.
      * </p>
-     * Iterates over the fields of the board and open the selected field.
+     * Looks up the selected field by its position and opens it,
+     * revealing the empty area around it.
      *
      * @param row number of the field's row to be opened.
      * @param column number of the field's column to be opened.
+     * @return number of fields revealed, 0 if the field could not be opened.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * @throws ExplosionException if the selected field is mined.
      * */
-    public void openField(int row, int column) {
-        try {
-            fields.parallelStream()
-                    .filter(field -> field.getRow() == row && field.getColumn() == column)
-                    .findFirst()
-                    .ifPresent(Field::openField);
-        } catch (ExplosionException e) {
-            fields.stream()
-                    .filter(Field::isMined)
-                    .forEach(Field::setIsOpen);
-            throw e;
+    public int openField(int row, int column) {
+        MoveResult result = open(row, column);
+        if (result.exploded()) {
+            throw new ExplosionException("Game over!");
+        }
+        return result.revealed();
+    }
+
+    /**
+     * <p>
+     * Opens a selected field, returning the outcome of the move.
+     * </p>
+     * Same as {@link #openField(int, int)}, but a mined field is reported
+     * in the result instead of throwing, which suits players that lose
+     * many games, like bots and simulations.
+     *
+     * @param row number of the field's row to be opened.
+     * @param column number of the field's column to be opened.
+     * @return the outcome of the move.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public MoveResult open(int row, int column) {
+        checkPosition(row, column);
+        long start = Metrics.start();
+
+        MoveResult result = open(row * cols + column);
+        Metrics.stop(Operation.OPEN_FIELD, start, result.revealed());
+        return result;
+    }
+
+    private MoveResult open(int index) {
+        if (isOpened(index) || isMarked(index)) {
+            return new MoveResult(false, false, 0, remainingFields() == 0);
+        }
+
+        if (isMined(index)) {
+            revealMines();
+            return new MoveResult(true, true, 0, false);
+        }
+
+        int revealed = cascade.spread(index);
+        addOpenedSafeFields(revealed);
+        return new MoveResult(true, false, revealed, remainingFields() == 0);
+    }
+
+    /**
+     * <p>
+     * Chords a selected field.
+     * </p>
+     * When the field is an opened number and as many of its neighbors are
+     * marked, every other closed neighbor is opened, revealing the empty
+     * areas around them in a single cascade. If a mark was wrong, the
+     * neighbors include a mine and the game is lost.
+     *
+     * @param row number of the field's row to be chorded.
+     * @param column number of the field's column to be chorded.
+     * @return the outcome of the move, not opened if the field is closed,
+     * the marks do not match its number or no neighbor is closed.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public MoveResult chord(int row, int column) {
+        checkPosition(row, column);
+        long start = Metrics.start();
+
+        MoveResult result = chord(row * cols + column);
+        Metrics.stop(Operation.CHORD, start, result.revealed());
+        return result;
+    }
+
+    private MoveResult chord(int index) {
+        int revealed = isOpened(index) && !isMined(index) ? cascade.chord(index) : 0;
+
+        if (revealed == EXPLODED) {
+            revealMines();
+            return new MoveResult(true, true, 0, false);
+        }
+        if (revealed == 0) {
+            return new MoveResult(false, false, 0, remainingFields() == 0);
         }
 
+        addOpenedSafeFields(revealed);
+        return new MoveResult(true, false, revealed, remainingFields() == 0);
+    }
+
+    /**
+     * <p>
+     * Opens a field by index, revealing the empty area around it.
+     * </p>
+     * @param index index of the field.
+     * @return number of fields revealed, 0 if the field could not be opened.
+     * @throws ExplosionException if the field is mined.
+     * */
+    int openField(int index) {
+        long start = Metrics.start();
+        int revealed = 0;
+        try {
+            revealed = cascade.open(index);
+            return revealed;
+        } finally {
+            Metrics.stop(Operation.OPEN_FIELD, start, revealed);
+        }
     }
 
     /**
      * <p>
      * Toggle the mark of a selected field.
      * </p>
-     * Iterates over the fields of the board and toggles the mark of the field.
+     * Looks up the selected field by its position and toggles its mark.
      *
      * @param row number of the field's row to be marked.
      * @param column number of the field's column to be marked.
+     * @throws IllegalArgumentException if the position is outside the board.
      * */
     public void toggleMark(int row, int column) {
-        fields.parallelStream()
-                .filter(field -> field.getRow() == row && field.getColumn() == column)
-                .findFirst()
-                .ifPresent(Field::switchMarkedField);
+        checkPosition(row, column);
+        toggleMark(row * cols + column);
+    }
+
+    /**
+     * <p>
+     * Applies many commands in one call.
+     * </p>
+     * Commands are packed {@value #COMMAND_SIZE} ints each: {@link #OPEN},
+     * {@link #TOGGLE_MARK} or {@link #CHORD}, the row and the column. Every command
+     * is checked before any is applied, and then they are applied in order with
+     * the same effect as calling {@link #openField(int, int)}, {@link #toggleMark(int, int)}
+     * and {@link #chord(int, int)} one by one, except that explosions do not throw
+     * and the counters of the board are updated once at the end.
+     * <p>
+     * The result of each command is the number of fields it changed: the fields
+     * revealed by an opening, 1 for a toggled mark, 0 when nothing changed, or
+     * {@link #EXPLODED} when a mined field was opened. Commands after an explosion
+     * are still applied, as they would be one by one.
+     * </p>
+     * @param commands the packed commands.
+     * @return the result of each command.
+     * @throws IllegalArgumentException if a command is unknown or outside the board.
+     * */
+    public int[] applyCommands(int[] commands) {
+        int[] results = new int[commands.length / COMMAND_SIZE];
+        applyCommands(commands, results);
+        return results;
+    }
+
+    /**
+     * <p>
+     * Applies many commands in one call, writing the results into the given array.
+     * </p>
+     * Same as {@link #applyCommands(int[])}, but without allocating the results,
+     * so the arrays can be reused by callers applying batches in a loop.
+     *
+     * @param commands the packed commands.
+     * @param results array with room for the result of each command.
+     * @return true if any command exploded.
+     * @throws IllegalArgumentException if a command is unknown or outside the board,
+     * or the commands do not fit the results.
+     * */
+    public boolean applyCommands(int[] commands, int[] results) {
+        if (commands.length % COMMAND_SIZE != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid commands. Expected %d ints per command and a result each", COMMAND_SIZE
+            ));
+        }
+        return applyCommands(commands, commands.length / COMMAND_SIZE, results);
+    }
+
+    /**
+     * <p>
+     * Applies the first commands of an array, writing the results into the given array.
+     * </p>
+     * Same as {@link #applyCommands(int[], int[])}, for callers filling
+     * a reused array with a varying number of commands.
+     *
+     * @param commands the packed commands.
+     * @param count number of commands to be applied, from the start of the array.
+     * @param results array with room for the result of each command.
+     * @return true if any command exploded.
+     * @throws IllegalArgumentException if a command is unknown or outside the board,
+     * or the commands do not fit the arrays.
+     * */
+    public boolean applyCommands(int[] commands, int count, int[] results) {
+        if (count < 0 || (long) count * COMMAND_SIZE > commands.length || results.length < count) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid commands. Expected %d ints per command and a result each", COMMAND_SIZE
+            ));
+        }
+        for (int i = 0; i < count * COMMAND_SIZE; i += COMMAND_SIZE) {
+            if (commands[i] != OPEN && commands[i] != TOGGLE_MARK && commands[i] != CHORD) {
+                throw new IllegalArgumentException("Unknown command: " + commands[i]);
+            }
+            checkPosition(commands[i + 1], commands[i + 2]);
+        }
+
+        int openedSafe = 0;
+        int marked = 0;
+        int flagged = 0;
+        boolean exploded = false;
+
+        for (int i = 0; i < count; i++) {
+            int command = i * COMMAND_SIZE;
+            int index = commands[command + 1] * cols + commands[command + 2];
+
+            if (commands[command] == CHORD) {
+                int revealed = Bits.get(openedPlane, index) && !Bits.get(minedPlane, index)
+                        ? cascade.chord(index) : 0;
+                if (revealed == EXPLODED) {
+                    revealMines();
+                    exploded = true;
+                } else {
+                    openedSafe += revealed;
+                }
+                results[i] = revealed;
+            } else if (Bits.get(openedPlane, index)) {
+                results[i] = 0;
+            } else if (commands[command] == TOGGLE_MARK) {
+                Bits.flip(markedPlane, index);
+
+                int delta = Bits.get(markedPlane, index) ? 1 : -1;
+                marked += delta;
+                if (Bits.get(minedPlane, index)) {
+                    flagged += delta;
+                }
+                results[i] = 1;
+            } else if (Bits.get(markedPlane, index)) {
+                results[i] = 0;
+            } else if (Bits.get(minedPlane, index)) {
+                revealMines();
+                exploded = true;
+                results[i] = EXPLODED;
+            } else {
+                int revealed = cascade.spread(index);
+                openedSafe += revealed;
+                results[i] = revealed;
+            }
+        }
+
+        openedSafeFields += openedSafe;
+        markedFields += marked;
+        flaggedMines += flagged;
+        return exploded;
+    }
+
+    void checkPosition(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= cols) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid field. Board size is %dx%d", rows, cols)
+            );
+        }
+    }
+
+    /**
+     * <p>
+     * Finds the neighbors of a field.
+     * </p>
+     * Reads the distances to the neighbors from the adjacency table,
+     * see {@link Adjacency}.
+     *
+     * @param index index of the field.
+     * @param neighbors array of at least 8 positions filled with the neighbor indexes.
+     * @return number of neighbors found.
+     * */
+    int neighbors(int index, int[] neighbors) {
+        return adjacency.neighbors(index, neighbors);
+    }
+
+    /**
+     * <p>
+     * Counts the number of mines around a field.
+     * </p>
+     * The count is kept up to date as mines are placed, so it is only read.
+     *
+     * @param index index of the field.
+     * @return number of mined neighbors.
+     * */
+    int countNeighborhoodMines(int index) {
+        return Bits.getNibble(neighborhoodMines, index);
+    }
+
+    /**
+     * <p>
+     * Adds to the count of mines around the neighbors of a field.
+     * </p>
+     * @param index index of the field mined or cleared.
+     * @param delta 1 when the field is mined, -1 when it is cleared.
+     * */
+    private void updateNeighborhoodMines(int index, int delta) {
+        updateNeighborhoodMines(adjacency, neighborhoodMines, index, delta);
+    }
+
+    private static void updateNeighborhoodMines(Adjacency adjacency, long[] neighborhoodMines, int index, int delta) {
+        for (int distance : adjacency.distances(index)) {
+            Bits.addNibble(neighborhoodMines, index + distance, delta);
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the symbol of a field for console display.
+     * </p>
+     * @param index index of the field.
+     * @return the symbol of the field, as in {@link Field#toString()}.
+     * */
+    char symbol(int index) {
+        if (Bits.get(markedPlane, index)) return 'x';
+        if (!Bits.get(openedPlane, index)) return '?';
+        if (Bits.get(minedPlane, index)) return '*';
+
+        int neighborhoodMines = Bits.getNibble(this.neighborhoodMines, index);
+        return neighborhoodMines > 0 ? (char) ('0' + neighborhoodMines) : ' ';
+    }
+
+    long[] minedPlane() {
+        return minedPlane;
+    }
+
+    int safeStart() {
+        return safeStart;
+    }
+
+    void setSafeStart(int safeStart) {
+        this.safeStart = safeStart;
+    }
+
+    long[] openedPlane() {
+        return openedPlane;
+    }
+
+    long[] markedPlane() {
+        return markedPlane;
+    }
+
+    boolean isMined(int index) {
+        return Bits.get(minedPlane, index);
+    }
+
+    boolean isOpened(int index) {
+        return Bits.get(openedPlane, index);
+    }
+
+    boolean isMarked(int index) {
+        return Bits.get(markedPlane, index);
+    }
+
+    /**
+     * <p>
+     * Opens a single field, without opening its neighbors.
+     * </p>
+     * @param index index of the field.
+     * */
+    void reveal(int index) {
+        if (!Bits.get(openedPlane, index)) {
+            Bits.set(openedPlane, index);
+
+            if (!Bits.get(minedPlane, index)) {
+                openedSafeFields++;
+            }
+        }
     }
 
     /**
      * <p>
-     * Generates the fields of the board.
+     * Opens a single safe field without updating the counters.
      * </p>
-     * Iterates over the number of rows and columns,
-     * creating a Field for each position.
+     * Used by the cascade, which adds the fields it opened with
+     * {@link #addOpenedSafeFields(int)} once it is done.
+     *
+     * @param index index of a field that is not mined.
+     * @return true if the field was closed.
      * */
-    private void generateFields() {
-        for (int row = 0; row < rows; row++) {
-            for (int column = 0; column < cols; column++) {
-                fields.add(new Field(row, column));
+    boolean openSafe(int index) {
+        if (Bits.get(openedPlane, index)) {
+            return false;
+        }
+        Bits.set(openedPlane, index);
+        return true;
+    }
+
+    void addOpenedSafeFields(int count) {
+        openedSafeFields += count;
+    }
+
+    /**
+     * <p>
+     * Toggles the mark of a field, unless it is opened.
+     * </p>
+     * @param index index of the field.
+     * */
+    void toggleMark(int index) {
+        long start = Metrics.start();
+        int delta = flipMark(index);
+
+        markedFields += delta;
+        if (delta != 0 && Bits.get(minedPlane, index)) {
+            flaggedMines += delta;
+        }
+        Metrics.stop(Operation.TOGGLE_MARK, start, delta != 0 ? 1 : 0);
+    }
+
+    /**
+     * <p>
+     * Toggles the mark of a field, unless it is opened, without updating the counters.
+     * </p>
+     * Used by a ConcurrentBoard, which counts the marks itself while the board is shared.
+     *
+     * @param index index of the field.
+     * @return 1 if the field was marked, -1 if the mark was removed, 0 if the field is opened.
+     * */
+    int flipMark(int index) {
+        if (Bits.get(openedPlane, index)) {
+            return 0;
+        }
+
+        Bits.flip(markedPlane, index);
+        return Bits.get(markedPlane, index) ? 1 : -1;
+    }
+
+    /**
+     * <p>
+     * Mines a field.
+     * </p>
+     * @param index index of the field.
+     * */
+    void mine(int index) {
+        if (Bits.get(minedPlane, index)) {
+            return;
+        }
+
+        Bits.set(minedPlane, index);
+        updateNeighborhoodMines(index, 1);
+
+        minedFields++;
+        if (Bits.get(markedPlane, index)) {
+            flaggedMines++;
+        }
+        if (Bits.get(openedPlane, index)) {
+            openedSafeFields--;
+        }
+    }
+
+    /**
+     * <p>
+     * Restart the state of a single field.
+     * </p>
+     * @param index index of the field.
+     * */
+    void restartField(int index) {
+        boolean mined = Bits.get(minedPlane, index);
+
+        if (Bits.get(openedPlane, index) && !mined) {
+            openedSafeFields--;
+        }
+        if (Bits.get(markedPlane, index)) {
+            markedFields--;
+            if (mined) {
+                flaggedMines--;
             }
         }
+        if (mined) {
+            minedFields--;
+            updateNeighborhoodMines(index, -1);
+        }
+
+        Bits.clear(minedPlane, index);
+        Bits.clear(openedPlane, index);
+        Bits.clear(markedPlane, index);
     }
 
     /**
      * <p>
-     * Defines the neighbors of each Field
+     * Rebuilds the counters and the mines around each field from the bitsets.
      * </p>
-     * Iterates over each field, associating it with adjacent fields.
+     * Used after the bitsets are written directly, e.g. when loading a snapshot.
      * */
-    private void defineNeighbors() {
-        for (Field f1 : fields) {
-            for (Field f2 : fields) {
-                f1.addNeighbor(f2);
+    void recount() {
+        Arrays.fill(neighborhoodMines, 0L);
+
+        int mined = 0;
+        int openedSafe = 0;
+        int marked = 0;
+        int flagged = 0;
+
+        for (int word = 0; word < minedPlane.length; word++) {
+            long mines = minedPlane[word];
+
+            mined += Long.bitCount(mines);
+            openedSafe += Long.bitCount(openedPlane[word] & ~mines);
+            marked += Long.bitCount(markedPlane[word]);
+            flagged += Long.bitCount(markedPlane[word] & mines);
+
+            for (; mines != 0; mines &= mines - 1) {
+                updateNeighborhoodMines((word << 6) + Long.numberOfTrailingZeros(mines), 1);
             }
         }
+
+        minedFields = mined;
+        openedSafeFields = openedSafe;
+        markedFields = marked;
+        flaggedMines = flagged;
+    }
+
+    /**
+     * <p>
+     * Opens every mined field, used when the game is lost.
+     * </p>
+     * */
+    private void revealMines() {
+        for (int i = 0; i < minedPlane.length; i++) {
+            openedPlane[i] |= minedPlane[i];
+        }
     }
 
     /**
      * <p>
      * Mines the fields.
      * </p>
-     * Verifies the amount of mined fields and mine a field with
-     * random position.
+     * Sorts exactly the number of mines without repeating a position,
+     * using Floyd's sampling: for each of the last {@code mines} positions,
+     * a random position up to it is mined, or the position itself
+     * when the random one is already mined.
+     * Takes one random number per mine whatever the density.
      * */
     private void mineFields() {
-        long plantedMines = 0;
-        Predicate<Field> mined = Field::isMined;
+        mineFields(NO_FIELDS, random);
+    }
 
-        do {
-            int randomPosition = (int) (Math.random() * fields.size());
-            fields.get(randomPosition).mine();
-            plantedMines = fields.stream().filter(mined).count();
-        } while (plantedMines < mines);
+    /**
+     * <p>
+     * Mines the fields, leaving some of them out.
+     * </p>
+     * Sorts positions among the fields not left out and maps each one
+     * to its field by skipping the fields left out before it.
+     *
+     * @param excluded indexes of the fields left out, in ascending order.
+     * @param random generator used to sort the mines.
+     * */
+    private void mineFields(int[] excluded, RandomGenerator random) {
+        long start = Metrics.start();
+        placeMines(adjacency, mines, excluded, random, minedPlane, neighborhoodMines);
+        minedFields = mines;
+        Metrics.stop(Operation.PLACE_MINES, start, mines);
+    }
+
+    /**
+     * <p>
+     * Sorts mines into empty bitsets, as {@link #mineFields()} does.
+     * </p>
+     * Used by a {@link LayoutPool} to prepare layouts away from any board.
+     *
+     * @param adjacency adjacency table of the board size.
+     * @param excluded indexes of the fields left out, in ascending order.
+     * @param minedPlane empty bitset of mined fields.
+     * @param neighborhoodMines empty counts of mines around each field.
+     * */
+    static void placeMines(Adjacency adjacency, int mines, int[] excluded, RandomGenerator random,
+                           long[] minedPlane, long[] neighborhoodMines) {
+        int size = adjacency.getRows() * adjacency.getCols() - excluded.length;
+
+        for (int last = size - mines; last < size; last++) {
+            int index = skip(random.nextInt(last + 1), excluded);
+            if (Bits.get(minedPlane, index)) {
+                index = skip(last, excluded);
+            }
+
+            Bits.set(minedPlane, index);
+            updateNeighborhoodMines(adjacency, neighborhoodMines, index, 1);
+        }
+    }
+
+    private static int skip(int position, int[] excluded) {
+        for (int field : excluded) {
+            if (position >= field) {
+                position++;
+            }
+        }
+        return position;
     }
 
     /**
      * <p>
      * Verifies if the user won the game.
      * </p>
+     * Compares the count of opened safe fields, kept up to date
+     * as fields are opened, against the number of safe fields.
      *
      * @return true if all safe fields are opened, returns false otherwise.
      * */
     public boolean goalAchieved() {
-        return fields.stream()
-                .filter(field -> !field.isMined())
-                .allMatch(Field::isOpened);
+        long start = Metrics.start();
+        boolean achieved = remainingFields() == 0;
+        Metrics.stop(Operation.GOAL_ACHIEVED, start, achieved ? 1 : 0);
+        return achieved;
+    }
+
+    /**
+     * Gets the number of safe fields still to be opened.
+     *
+     * @return integer number of safe fields not opened yet.
+     * */
+    public int remainingFields() {
+        return rows * cols - minedFields - openedSafeFields;
+    }
+
+    /**
+     * Gets the number of mines not covered by a mark,
+     * assuming every marked field is mined.
+     *
+     * @return integer number of mines minus marked fields.
+     * */
+    public int remainingMines() {
+        return minedFields - markedFields;
+    }
+
+    /**
+     * Gets the number of marked fields.
+     *
+     * @return integer number of marked fields.
+     * */
+    int getMarkedFields() {
+        return markedFields;
+    }
+
+    /**
+     * Gets the number of mined fields that are marked.
+     *
+     * @return integer number of correctly marked fields.
+     * */
+    int getFlaggedMines() {
+        return flaggedMines;
+    }
+
+    /**
+     * Gets the number of safe fields opened.
+     *
+     * @return integer number of opened fields that are not mined.
+     * */
+    int getOpenedSafeFields() {
+        return openedSafeFields;
+    }
+
+    /**
+     * <p>
+     * Sets the counters of the fields changed without updating them.
+     * </p>
+     * Used by a ConcurrentBoard to hand its own counters back to the board.
+     *
+     * @param openedSafe number of safe fields opened.
+     * @param marked number of marked fields.
+     * @param flagged number of mined fields that are marked.
+     * */
+    void setCounters(int openedSafe, int marked, int flagged) {
+        openedSafeFields = openedSafe;
+        markedFields = marked;
+        flaggedMines = flagged;
     }
 
     /**
      * <p>
      * Restart the board, resetting state and mining fields again.
      * </p>
+     * Each restart draws a seed from the board's generator and sorts the
+     * mines from it, so a board built from a seed always restarts with
+     * the same mines. With a {@link LayoutPool}, the mines of the next
+     * restart are prepared ahead from the same seed and swapped in.
      * */
     public void restartBoard() {
-        fields.forEach(Field::restartField);
-        mineFields();
+        Arrays.fill(openedPlane, 0L);
+        Arrays.fill(markedPlane, 0L);
+        safeStart = -1;
+
+        openedSafeFields = 0;
+        markedFields = 0;
+        flaggedMines = 0;
+
+        long layoutSeed = nextLayoutSeed();
+        MineLayout layout = layoutPool != null ? layoutPool.take(rows, cols, mines, layoutSeed) : null;
+        if (layout != null) {
+            layoutPool.recycle(rows, cols, mines, new MineLayout(minedPlane, neighborhoodMines));
+            minedPlane = layout.minedPlane();
+            neighborhoodMines = layout.neighborhoodMines();
+            minedFields = mines;
+        } else {
+            Arrays.fill(minedPlane, 0L);
+            Arrays.fill(neighborhoodMines, 0L);
+            minedFields = 0;
+
+            mineFields(NO_FIELDS, new SplittableRandom(layoutSeed));
+        }
+
+        prepareNextLayout();
+    }
+
+    /**
+     * <p>
+     * Gets the seed of the mines of this restart.
+     * </p>
+     * Drawn now unless it was drawn ahead for the LayoutPool.
+     * */
+    private long nextLayoutSeed() {
+        if (!nextLayoutSeedDrawn) {
+            nextLayoutSeed = random.nextLong();
+        }
+        nextLayoutSeedDrawn = false;
+        return nextLayoutSeed;
+    }
+
+    /**
+     * <p>
+     * Asks the LayoutPool to prepare the mines of the next restart.
+     * </p>
+     * */
+    private void prepareNextLayout() {
+        if (layoutPool == null) {
+            return;
+        }
+        if (!nextLayoutSeedDrawn) {
+            nextLayoutSeed = random.nextLong();
+            nextLayoutSeedDrawn = true;
+        }
+        layoutPool.prepare(rows, cols, mines, nextLayoutSeed);
+    }
+
+    /**
+     * <p>
+     * Sets a pool of ready layouts to restart from.
+     * </p>
+     * The pool starts preparing the mines of the next restart right away.
+     * The pool does not change the mines of any restart, only how fast
+     * they are ready. A board no longer used should leave the pool,
+     * giving up the room of its layout for other boards.
+     *
+     * @param layoutPool the pool, or null to sort the mines on every restart.
+     * */
+    public void setLayoutPool(LayoutPool layoutPool) {
+        if (this.layoutPool != null && nextLayoutSeedDrawn) {
+            this.layoutPool.cancel(rows, cols, mines, nextLayoutSeed);
+        }
+        this.layoutPool = layoutPool;
+        prepareNextLayout();
     }
 
     /**<p>
@@ -197,6 +1143,7 @@ public class Board {
      *   <li>The state of each field displayed in a structured grid format.</li>
      * </ul>
      * This method is useful for visualizing the minefield during gameplay.
+     * Large boards should be written with a {@link BoardRenderer} instead.
      *
      * @return a formatted string representing the minefield.
      * */
@@ -204,31 +1151,33 @@ public class Board {
     public String toString() {
         StringBuilder sb = new StringBuilder();
 
-        int i = 0;
-
-        // Prints col numbers
-        sb.append(" ");
-        for (int c = 0; c < cols; c++) {
-            sb.append(" ");
-            sb.append(c);
-            sb.append(" ");
+        try {
+            BoardRenderer.render(this, sb, 0, 0, rows, cols);
+        } catch (IOException e) {
+            // a StringBuilder never fails
+            throw new UncheckedIOException(e);
         }
 
-        sb.append("\n");
+        return sb.toString();
+    }
 
-        // Prints row numbers and fields
-        for(int row = 0; row < rows; row ++) {
-            sb.append(row);
-            for (int col = 0; col < cols; col ++) {
-                sb.append(" ");
-                sb.append(fields.get(i));
-                sb.append(" ");
+    /**
+     * <p>
+     * Read-only list of the fields of the board.
+     * </p>
+     * Creates a view of the field on each access instead of keeping
+     * an object per field.
+     * */
+    private class FieldList extends AbstractList<Field> {
 
-                i++;
-            }
-            sb.append("\n");
+        @Override
+        public Field get(int index) {
+            return new FieldView(Board.this, index);
         }
 
-        return sb.toString();
+        @Override
+        public int size() {
+            return rows * cols;
+        }
     }
 }
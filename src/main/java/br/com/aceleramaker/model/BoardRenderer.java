@@ -0,0 +1,192 @@
+package br.com.aceleramaker.model;
+
+import br.com.aceleramaker.metrics.Metrics;
+import br.com.aceleramaker.metrics.Operation;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * Writes the textual representation of a Board.
+ * </p>
+ * The board is written straight into a caller supplied {@link Appendable},
+ * without building the whole text in memory. Besides the full board,
+ * the renderer can write a window of rows and columns of a large board,
+ * or report only the fields that changed since the last frame.
+ * */
+public class BoardRenderer {
+
+    /**
+     * Receives the fields that changed since the last frame.
+     * */
+    @FunctionalInterface
+    public interface ChangeWriter {
+
+        /**
+         * Writes a field whose symbol changed.
+         *
+         * @param row row of the field.
+         * @param column column of the field.
+         * @param symbol the new symbol of the field, as in {@link Field#toString()}.
+         * @throws IOException if the output fails.
+         * */
+        void write(int row, int column, char symbol) throws IOException;
+    }
+
+    private final Board board;
+
+    // opened and marked state when the last frame was rendered, created by the first frame
+    private long[] renderedOpened;
+    private long[] renderedMarked;
+
+    /**
+     * <p>
+     * Constructs a renderer for the given board.
+     * </p>
+     * The copies of the board state kept to find the changed fields
+     * are only allocated by the first full frame or change report,
+     * so a renderer used for windows alone stays small.
+     *
+     * @param board the board to be rendered.
+     * */
+    public BoardRenderer(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * <p>
+     * Writes the whole board.
+     * </p>
+     * The output has the same format as {@link Board#toString()}
+     * and becomes the last frame for {@link #renderChanges(ChangeWriter)}.
+     *
+     * @param out where the board is written.
+     * @throws IOException if the output fails.
+     * */
+    public void render(Appendable out) throws IOException {
+        render(board, out, 0, 0, board.getRows(), board.getCols());
+
+        allocateFrame();
+        System.arraycopy(board.openedPlane(), 0, renderedOpened, 0, renderedOpened.length);
+        System.arraycopy(board.markedPlane(), 0, renderedMarked, 0, renderedMarked.length);
+    }
+
+    /**
+     * <p>
+     * Writes a window of the board.
+     * </p>
+     * Only the fields in the given rows and columns are written, numbered
+     * with their position in the board. The window is cut to the board limits.
+     *
+     * @param out where the board is written.
+     * @param firstRow first row of the window.
+     * @param firstColumn first column of the window.
+     * @param rowCount number of rows in the window.
+     * @param columnCount number of columns in the window.
+     * @throws IOException if the output fails.
+     * */
+    public void render(Appendable out, int firstRow, int firstColumn, int rowCount, int columnCount)
+            throws IOException {
+        render(board, out, firstRow, firstColumn, rowCount, columnCount);
+    }
+
+    /**
+     * <p>
+     * Writes a window of a board without a renderer.
+     * </p>
+     * Used by {@link Board#toString()}, which needs no frame to compare against.
+     * */
+    static void render(Board board, Appendable out, int firstRow, int firstColumn, int rowCount, int columnCount)
+            throws IOException {
+        long start = Metrics.start();
+        int cols = board.getCols();
+        int fromRow = Math.max(firstRow, 0);
+        int fromCol = Math.max(firstColumn, 0);
+        int toRow = (int) Math.min((long) firstRow + rowCount, board.getRows());
+        int toCol = (int) Math.min((long) firstColumn + columnCount, cols);
+
+        // Prints col numbers
+        out.append(' ');
+        for (int col = fromCol; col < toCol; col++) {
+            out.append(' ');
+            appendNumber(out, col);
+            out.append(' ');
+        }
+        out.append('\n');
+
+        // Prints row numbers and fields
+        for (int row = fromRow; row < toRow; row++) {
+            appendNumber(out, row);
+            for (int col = fromCol; col < toCol; col++) {
+                out.append(' ');
+                out.append(board.symbol(row * cols + col));
+                out.append(' ');
+            }
+            out.append('\n');
+        }
+
+        Metrics.stop(Operation.RENDER, start, Math.max(toRow - fromRow, 0) * Math.max(toCol - fromCol, 0));
+    }
+
+    /**
+     * <p>
+     * Writes the fields that changed since the last frame.
+     * </p>
+     * Compares the opened and marked state 64 fields at a time against
+     * the last frame, so only the changed fields are visited.
+     * The current state becomes the last frame.
+     *
+     * @param writer receives each changed field.
+     * @return number of changed fields.
+     * @throws IOException if the output fails.
+     * */
+    public int renderChanges(ChangeWriter writer) throws IOException {
+        long start = Metrics.start();
+        allocateFrame();
+        long[] opened = board.openedPlane();
+        long[] marked = board.markedPlane();
+        int cols = board.getCols();
+        int changes = 0;
+
+        for (int word = 0; word < renderedOpened.length; word++) {
+            long openedNow = opened[word];
+            long markedNow = marked[word];
+            long changed = (openedNow ^ renderedOpened[word]) | (markedNow ^ renderedMarked[word]);
+
+            renderedOpened[word] = openedNow;
+            renderedMarked[word] = markedNow;
+
+            while (changed != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(changed);
+                changed &= changed - 1;
+
+                writer.write(index / cols, index % cols, board.symbol(index));
+                changes++;
+            }
+        }
+
+        Metrics.stop(Operation.RENDER, start, changes);
+        return changes;
+    }
+
+    private void allocateFrame() {
+        if (renderedOpened == null) {
+            int words = Bits.words(board.getRows() * board.getCols());
+            renderedOpened = new long[words];
+            renderedMarked = new long[words];
+        }
+    }
+
+    /**
+     * Appends a non-negative number without creating a String.
+     * */
+    private static void appendNumber(Appendable out, int number) throws IOException {
+        int divisor = 1;
+        while (number / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + number / divisor % 10));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.aceleramaker.model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ * Binary snapshot format of a Board.
+ * </p>
+ * The file is little endian, with a header followed by the three bitsets
+ * of the board, each stored as {@code ceil(rows * cols / 64)} longs:
+ * <ul>
+ *   <li>magic number "MSWP" (int) and format version (int).</li>
+ *   <li>rows, cols and mines (int), the index of the safe start (int),
+ *   -1 when the mines were placed over every field, and the seed (long).</li>
+ *   <li>mined, opened and marked bitsets.</li>
+ * </ul>
+ * The file is memory-mapped and the bitsets are copied in bulk,
+ * so saving and loading cost about the same as the disk transfer.
+ * The counters and the mines around each field are rebuilt on load,
+ * after checking that the mined bitset holds the stored number of mines,
+ * that no bit is set past the last field and that the safe start is not mined.
+ * */
+final class BoardSnapshot {
+
+    private static final int MAGIC = 0x4D535750;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES + Long.BYTES;
+
+    private BoardSnapshot() {
+    }
+
+    /**
+     * <p>
+     * Writes a board to a file.
+     * </p>
+     * @param board the board to be saved.
+     * @param path the file to be written, replaced if it exists.
+     * @throws IOException if the file cannot be written.
+     * */
+    static void write(Board board, Path path) throws IOException {
+        int words = board.minedPlane().length;
+        long size = HEADER_BYTES + 3L * words * Long.BYTES;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(board.getRows())
+                    .putInt(board.getCols())
+                    .putInt(board.getMines())
+                    .putInt(board.safeStart())
+                    .putLong(board.getSeed());
+
+            LongBuffer planes = buffer.asLongBuffer();
+            planes.put(board.minedPlane());
+            planes.put(board.openedPlane());
+            planes.put(board.markedPlane());
+
+            buffer.force();
+        }
+    }
+
+    /**
+     * <p>
+     * Reads a board from a file.
+     * </p>
+     * @param path the file to be read.
+     * @return the board with the saved state.
+     * @throws IOException if the file cannot be read or is not a board snapshot.
+     * */
+    static Board read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Not a board snapshot: " + path);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a board snapshot: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported board snapshot version: " + version);
+            }
+
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+            int mines = buffer.getInt();
+            int safeStart = buffer.getInt();
+            long seed = buffer.getLong();
+
+            if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE
+                    || mines < 0 || mines > rows * cols
+                    || safeStart < -1 || safeStart >= rows * cols
+                    || size != HEADER_BYTES + 3L * Bits.words(rows * cols) * Long.BYTES) {
+                throw new IOException("Corrupted board snapshot: " + path);
+            }
+
+            Board board = Board.empty(rows, cols, mines, seed);
+
+            LongBuffer planes = buffer.asLongBuffer();
+            planes.get(board.minedPlane());
+            planes.get(board.openedPlane());
+            planes.get(board.markedPlane());
+
+            int fields = rows * cols;
+            if (countBits(board.minedPlane()) != mines || hasStrayBits(board.minedPlane(), fields)
+                    || hasStrayBits(board.openedPlane(), fields) || hasStrayBits(board.markedPlane(), fields)
+                    || safeStart != -1 && board.isMined(safeStart)) {
+                throw new IOException("Corrupted board snapshot: " + path);
+            }
+
+            board.setSafeStart(safeStart);
+            board.recount();
+            return board;
+        }
+    }
+
+    private static int countBits(long[] plane) {
+        int count = 0;
+        for (long word : plane) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * Checks for bits set past the last field, in the last word of a bitset.
+     * </p>
+     * */
+    private static boolean hasStrayBits(long[] plane, int fields) {
+        int used = fields & 63;
+        return used != 0 && (plane[plane.length - 1] & (-1L << used)) != 0;
+    }
+}
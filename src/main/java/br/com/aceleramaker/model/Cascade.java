@@ -0,0 +1,176 @@
+package br.com.aceleramaker.model;
+
+import br.com.aceleramaker.exception.ExplosionException;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Opens fields of a Board revealing empty areas iteratively.
+ * </p>
+ * Instead of recursing through the neighbors, each field is opened when it
+ * is reached and, when none of its neighbors is mined, its index is pushed
+ * on a stack to open its neighbors later. The opened bit of the board marks
+ * the fields already reached, so no other bitset is needed, and the stack
+ * only holds the empty fields whose neighbors are still to be opened.
+ * Regions of any size are opened without growing the thread stack.
+ * The stack is kept between openings and given back after a cascade that
+ * made it grow past {@value #RETAINED_CAPACITY} fields.
+ * */
+class Cascade {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int RETAINED_CAPACITY = 4096;
+
+    private final Board board;
+
+    private int[] stack = new int[INITIAL_CAPACITY];
+    private final int[] neighbors = new int[8];
+    private final int[] closed = new int[8];
+
+    /**
+     * <p>
+     * Constructs a cascade for the given board.
+     * </p>
+     * @param board the board whose fields will be opened.
+     * */
+    Cascade(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * <p>
+     * Opens the field at the given index.
+     * </p>
+     * Follows the same rules as {@link Field#openField()}: opened or marked
+     * fields are ignored, and the neighbors of a field are opened as well
+     * when none of them is mined.
+     *
+     * @param start index of the field to be opened.
+     * @return number of fields revealed, 0 if the field could not be opened.
+     * @throws ExplosionException if the selected field is mined.
+     * */
+    int open(int start) {
+        if (board.isOpened(start) || board.isMarked(start)) {
+            return 0;
+        }
+
+        if (board.isMined(start)) {
+            board.reveal(start);
+            throw new ExplosionException("Game over!");
+        }
+
+        int revealed = spread(start);
+        board.addOpenedSafeFields(revealed);
+        return revealed;
+    }
+
+    /**
+     * <p>
+     * Opens the region around a closed, unmarked and safe field.
+     * </p>
+     * The opened fields are not added to the counters of the board,
+     * so callers opening many regions can add them once.
+     *
+     * @param start index of the field to be opened.
+     * @return number of fields revealed.
+     * */
+    int spread(int start) {
+        int top = reach(start, 0);
+        return drain(top, 1);
+    }
+
+    /**
+     * <p>
+     * Chords an opened number: opens its closed neighbors when as many of them are marked.
+     * </p>
+     * The neighbors are opened together as a single cascade, so overlapping
+     * empty areas are visited once. Like {@link #spread(int)}, the counters
+     * of the board are left to the caller.
+     *
+     * @param center index of an opened safe field.
+     * @return number of fields revealed, 0 if the marks do not match the number
+     * or nothing is closed, or {@link Board#EXPLODED} if a closed neighbor is mined,
+     * in which case nothing is opened.
+     * */
+    int chord(int center) {
+        int count = board.neighbors(center, neighbors);
+        int marked = 0;
+        int closedCount = 0;
+        boolean mined = false;
+
+        for (int i = 0; i < count; i++) {
+            int neighbor = neighbors[i];
+
+            if (board.isMarked(neighbor)) {
+                marked++;
+            } else if (!board.isOpened(neighbor)) {
+                mined |= board.isMined(neighbor);
+                closed[closedCount++] = neighbor;
+            }
+        }
+
+        if (marked != board.countNeighborhoodMines(center) || closedCount == 0) {
+            return 0;
+        }
+        if (mined) {
+            return Board.EXPLODED;
+        }
+
+        int top = 0;
+        for (int i = 0; i < closedCount; i++) {
+            top = reach(closed[i], top);
+        }
+        return drain(top, closedCount);
+    }
+
+    /**
+     * <p>
+     * Opens a closed, unmarked and safe field, pushing it when it is empty.
+     * </p>
+     * @param index index of the field.
+     * @param top number of fields on the stack.
+     * @return number of fields on the stack afterwards.
+     * */
+    private int reach(int index, int top) {
+        board.openSafe(index);
+        if (board.countNeighborhoodMines(index) > 0) {
+            return top;
+        }
+
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length << 1);
+        }
+        stack[top] = index;
+        return top + 1;
+    }
+
+    /**
+     * <p>
+     * Opens the neighbors of the stacked fields and the empty areas around them.
+     * </p>
+     * @param top number of empty fields on the stack, already opened.
+     * @param revealed number of fields already opened.
+     * @return number of fields revealed.
+     * */
+    private int drain(int top, int revealed) {
+        while (top > 0) {
+            int index = stack[--top];
+
+            int count = board.neighbors(index, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+
+                if (!board.isOpened(neighbor) && !board.isMarked(neighbor)) {
+                    top = reach(neighbor, top);
+                    revealed++;
+                }
+            }
+        }
+
+        if (stack.length > RETAINED_CAPACITY) {
+            stack = new int[INITIAL_CAPACITY];
+        }
+        return revealed;
+    }
+}
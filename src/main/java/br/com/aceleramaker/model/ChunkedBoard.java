@@ -0,0 +1,590 @@
+package br.com.aceleramaker.model;
+
+import br.com.aceleramaker.exception.ExplosionException;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * <p>
+ * A board without fixed size, generated in chunks as it is explored.
+ * </p>
+ * The world is split in chunks of 64x64 fields, and the mines of a chunk are
+ * sorted from a hash of the board seed and the chunk position, so a chunk is
+ * the same whenever it is generated. Each row of a chunk is a single long
+ * in each state bitset (mined, opened and marked).
+ * <p>
+ * Chunks only needed to count mines across a border are kept in a LRU cache
+ * and generated again when needed. Chunks where a field was opened or marked
+ * are kept, so memory is proportional to the explored area and not to the
+ * size of the world. Rows and columns may be any int, including negatives.
+ * Chunks are found by position in a table of primitive keys, and the last
+ * chunk found is kept aside, as a cascade reads many fields of the same chunk.
+ * </p>
+ * As an endless world may have endless empty areas, a single opening reveals
+ * at most a given number of fields. The empty fields left at the border of
+ * a stopped cascade are kept, and {@link #resumeCascade()} continues it.
+ * */
+public class ChunkedBoard {
+
+    static final int CHUNK_BITS = 6;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int DEFAULT_CACHE_SIZE = 256;
+    private static final int DEFAULT_MAX_CASCADE = 1 << 20;
+
+    private final long seed;
+    private final int minesPerChunk;
+    private final int maxCascade;
+
+    private final int cacheSize;
+
+    // every chunk in memory, explored or cached
+    private final ChunkTable chunks = new ChunkTable();
+    private int exploredChunks;
+
+    // cached chunks from the least to the most recently used
+    private Chunk oldestCached;
+    private Chunk newestCached;
+    private int cachedChunks;
+
+    private Chunk lastChunk;
+
+    private long[] queue = new long[64];
+    private long[] frontier = new long[64];
+    private int frontierSize;
+    private int openedSafeFields;
+
+    /**
+     * <p>
+     * Constructs a chunked board with default cache and cascade limits.
+     * </p>
+     * @param seed seed of the world, boards with the same seed have the same mines.
+     * @param density fraction of mined fields, between 0 and 1.
+     * @throws IllegalArgumentException if the density is out of range.
+     * */
+    public ChunkedBoard(long seed, double density) {
+        this(seed, density, DEFAULT_CACHE_SIZE, DEFAULT_MAX_CASCADE);
+    }
+
+    /**
+     * <p>
+     * Constructs a chunked board.
+     * </p>
+     * @param seed seed of the world, boards with the same seed have the same mines.
+     * @param density fraction of mined fields, between 0 and 1.
+     * @param cacheSize number of unexplored chunks kept in memory.
+     * @param maxCascade maximum number of fields revealed by a single opening.
+     * @throws IllegalArgumentException if the density is out of range.
+     * */
+    public ChunkedBoard(long seed, double density, int cacheSize, int maxCascade) {
+        if (density < 0 || density > 1) {
+            throw new IllegalArgumentException("Invalid density. It must be between 0 and 1");
+        }
+
+        this.seed = seed;
+        this.minesPerChunk = (int) Math.round(density * CHUNK_SIZE * CHUNK_SIZE);
+        this.maxCascade = maxCascade;
+        this.cacheSize = cacheSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of chunks where a field was opened or marked.
+     *
+     * @return integer number of explored chunks.
+     * */
+    public int getExploredChunks() {
+        return exploredChunks;
+    }
+
+    /**
+     * Gets the number of safe fields opened.
+     *
+     * @return integer number of opened safe fields.
+     * */
+    public int getOpenedFields() {
+        return openedSafeFields;
+    }
+
+    /**
+     * <p>
+     * Opens a selected field.
+     * </p>
+     * Reveals the empty area around the field as a Board does, crossing
+     * chunk borders, up to the maximum number of fields of a cascade.
+     * A stopped cascade is continued by {@link #resumeCascade()}.
+     *
+     * @param row number of the field's row to be opened.
+     * @param column number of the field's column to be opened.
+     * @return number of fields revealed, 0 if the field could not be opened.
+     * @throws ExplosionException if the selected field is mined.
+     * */
+    public int openField(int row, int column) {
+        Chunk chunk = chunk(row, column);
+        int localRow = row & CHUNK_MASK;
+        int localCol = column & CHUNK_MASK;
+
+        if (chunk.isOpened(localRow, localCol) || chunk.isMarked(localRow, localCol)) {
+            return 0;
+        }
+
+        explore(chunk).open(localRow, localCol);
+
+        if (chunk.isMined(localRow, localCol)) {
+            throw new ExplosionException("Game over!");
+        }
+
+        if (countNeighborhoodMines(row, column) > 0) {
+            openedSafeFields++;
+            return 1;
+        }
+
+        openedSafeFields++;
+        queue[0] = pack(row, column);
+        return 1 + cascade(1, maxCascade - 1);
+    }
+
+    /**
+     * <p>
+     * Continues the cascades stopped at the maximum number of fields.
+     * </p>
+     * Expands the empty fields left at the border of those cascades,
+     * up to the maximum number of fields again.
+     *
+     * @return number of fields revealed, 0 if no cascade was stopped.
+     * */
+    public int resumeCascade() {
+        int pending = frontierSize;
+        long[] consumed = queue;
+        queue = frontier;
+        frontier = consumed;
+        frontierSize = 0;
+
+        return cascade(pending, maxCascade);
+    }
+
+    /**
+     * Verifies if a cascade was stopped at the maximum number of fields,
+     * leaving empty fields whose neighbors are not revealed yet.
+     *
+     * @return true if {@link #resumeCascade()} would reveal more fields.
+     * */
+    public boolean hasPendingCascade() {
+        return frontierSize > 0;
+    }
+
+    /**
+     * <p>
+     * Reveals the empty area around the opened empty fields held in the queue.
+     * </p>
+     * Fields are opened when queued, so each one is queued once. If the
+     * limit is reached, the fields not expanded yet are kept in the frontier.
+     *
+     * @param tail number of fields in the queue.
+     * @param limit maximum number of fields to reveal.
+     * @return number of fields revealed.
+     * */
+    private int cascade(int tail, int limit) {
+        int revealed = 0;
+        int head = 0;
+
+        while (head < tail && revealed < limit) {
+            long position = queue[head++];
+            int r = (int) (position >> 32);
+            int c = (int) position;
+
+            int i = 0;
+            for (; i < Neighbors.COUNT && revealed < limit; i++) {
+                int nRow = r + Neighbors.rowOffset(i);
+                int nCol = c + Neighbors.colOffset(i);
+                Chunk neighbor = chunk(nRow, nCol);
+                int nLocalRow = nRow & CHUNK_MASK;
+                int nLocalCol = nCol & CHUNK_MASK;
+
+                // neighbors of an empty field are never mined
+                if (neighbor.isOpened(nLocalRow, nLocalCol) || neighbor.isMarked(nLocalRow, nLocalCol)) {
+                    continue;
+                }
+
+                explore(neighbor).open(nLocalRow, nLocalCol);
+                revealed++;
+
+                if (countNeighborhoodMines(nRow, nCol) == 0) {
+                    if (tail == queue.length) {
+                        // compact the consumed part before growing
+                        System.arraycopy(queue, head, queue, 0, tail - head);
+                        tail -= head;
+                        head = 0;
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, queue.length << 1);
+                        }
+                    }
+                    queue[tail++] = pack(nRow, nCol);
+                }
+            }
+
+            if (i < Neighbors.COUNT) {
+                // stopped halfway, expanding it again skips the opened neighbors
+                keep(position);
+            }
+        }
+
+        keep(queue, head, tail - head);
+        openedSafeFields += revealed;
+        return revealed;
+    }
+
+    /**
+     * <p>
+     * Adds fields to the frontier left for {@link #resumeCascade()}.
+     * </p>
+     * */
+    private void keep(long position) {
+        if (frontierSize == frontier.length) {
+            frontier = Arrays.copyOf(frontier, frontier.length << 1);
+        }
+        frontier[frontierSize++] = position;
+    }
+
+    private void keep(long[] positions, int from, int count) {
+        if (frontierSize + count > frontier.length) {
+            frontier = Arrays.copyOf(frontier, Math.max(frontier.length << 1, frontierSize + count));
+        }
+        System.arraycopy(positions, from, frontier, frontierSize, count);
+        frontierSize += count;
+    }
+
+    /**
+     * <p>
+     * Toggle the mark of a selected field.
+     * </p>
+     * @param row number of the field's row to be marked.
+     * @param column number of the field's column to be marked.
+     * */
+    public void toggleMark(int row, int column) {
+        Chunk chunk = chunk(row, column);
+        int localRow = row & CHUNK_MASK;
+        int localCol = column & CHUNK_MASK;
+
+        if (!chunk.isOpened(localRow, localCol)) {
+            explore(chunk).toggleMark(localRow, localCol);
+        }
+    }
+
+    public boolean isOpened(int row, int column) {
+        return chunk(row, column).isOpened(row & CHUNK_MASK, column & CHUNK_MASK);
+    }
+
+    public boolean isMarked(int row, int column) {
+        return chunk(row, column).isMarked(row & CHUNK_MASK, column & CHUNK_MASK);
+    }
+
+    /**
+     * <p>
+     * Verifies if a field is mined.
+     * </p>
+     * Only meant for opened fields, as it tells where the mines are.
+     *
+     * @param row number of the field's row.
+     * @param column number of the field's column.
+     * @return true if the field is mined.
+     * */
+    boolean isMined(int row, int column) {
+        return chunk(row, column).isMined(row & CHUNK_MASK, column & CHUNK_MASK);
+    }
+
+    /**
+     * <p>
+     * Counts the number of mines around a field.
+     * </p>
+     * Fields inside a chunk are counted from its rows only,
+     * fields on a border also read the neighbor chunks.
+     *
+     * @param row number of the field's row.
+     * @param column number of the field's column.
+     * @return number of mined neighbors.
+     * */
+    public int countNeighborhoodMines(int row, int column) {
+        int localRow = row & CHUNK_MASK;
+        int localCol = column & CHUNK_MASK;
+
+        if (localRow > 0 && localRow < CHUNK_MASK && localCol > 0 && localCol < CHUNK_MASK) {
+            long[] mined = chunk(row, column).mined;
+            long around = 0b111L << (localCol - 1);
+
+            return Long.bitCount(mined[localRow - 1] & around)
+                    + Long.bitCount(mined[localRow] & around & ~(1L << localCol))
+                    + Long.bitCount(mined[localRow + 1] & around);
+        }
+
+        int count = 0;
+        for (int i = 0; i < Neighbors.COUNT; i++) {
+            if (isMined(row + Neighbors.rowOffset(i), column + Neighbors.colOffset(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * Gets the chunk holding a field, generating it if needed.
+     * </p>
+     * */
+    private Chunk chunk(int row, int column) {
+        long key = pack(row >> CHUNK_BITS, column >> CHUNK_BITS);
+
+        Chunk chunk = lastChunk;
+        if (chunk != null && chunk.key == key) {
+            return chunk;
+        }
+
+        chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = new Chunk(key, generateMines(key));
+            chunks.put(chunk);
+            lastChunk = chunk;
+            cache(chunk);
+            return chunk;
+        }
+
+        if (!chunk.explored) {
+            uncache(chunk);
+            cache(chunk);
+        }
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    /**
+     * <p>
+     * Keeps a chunk out of the cache, as its state can not be generated again.
+     * </p>
+     * */
+    private Chunk explore(Chunk chunk) {
+        if (!chunk.explored) {
+            chunk.explored = true;
+            uncache(chunk);
+            exploredChunks++;
+        }
+        return chunk;
+    }
+
+    /**
+     * <p>
+     * Adds a chunk as the most recently used, dropping the least recently used
+     * chunks over the cache size.
+     * </p>
+     * */
+    private void cache(Chunk chunk) {
+        chunk.older = newestCached;
+        if (newestCached != null) {
+            newestCached.newer = chunk;
+        } else {
+            oldestCached = chunk;
+        }
+        newestCached = chunk;
+        cachedChunks++;
+
+        while (cachedChunks > cacheSize) {
+            Chunk oldest = oldestCached;
+            uncache(oldest);
+            chunks.remove(oldest.key);
+            if (lastChunk == oldest) {
+                lastChunk = null;
+            }
+        }
+    }
+
+    private void uncache(Chunk chunk) {
+        if (chunk.older != null) {
+            chunk.older.newer = chunk.newer;
+        } else {
+            oldestCached = chunk.newer;
+        }
+        if (chunk.newer != null) {
+            chunk.newer.older = chunk.older;
+        } else {
+            newestCached = chunk.older;
+        }
+        chunk.older = null;
+        chunk.newer = null;
+        cachedChunks--;
+    }
+
+    /**
+     * <p>
+     * Sorts the mines of a chunk.
+     * </p>
+     * Uses Floyd's sampling, as a Board does, with a generator seeded
+     * from the board seed and the chunk position.
+     * */
+    private long[] generateMines(long key) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(key)));
+        long[] mined = new long[CHUNK_SIZE];
+        int size = CHUNK_SIZE * CHUNK_SIZE;
+
+        for (int last = size - minesPerChunk; last < size; last++) {
+            int index = random.nextInt(last + 1);
+
+            if (Bits.get(mined, index)) {
+                index = last;
+            }
+            Bits.set(mined, index);
+        }
+        return mined;
+    }
+
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Spreads the bits of a value, the finalizer of the SplitMix64 generator.
+     * */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * <p>
+     * A square of 64x64 fields.
+     * </p>
+     * Each row of the chunk is one long in each bitset,
+     * with the column as the bit position.
+     * */
+    private static class Chunk {
+
+        private final long key;
+        private final long[] mined;
+        private final long[] opened = new long[CHUNK_SIZE];
+        private final long[] marked = new long[CHUNK_SIZE];
+
+        private boolean explored;
+
+        // neighbors in the cache order, while not explored
+        private Chunk older;
+        private Chunk newer;
+
+        Chunk(long key, long[] mined) {
+            this.key = key;
+            this.mined = mined;
+        }
+
+        boolean isMined(int row, int column) {
+            return (mined[row] & (1L << column)) != 0;
+        }
+
+        boolean isOpened(int row, int column) {
+            return (opened[row] & (1L << column)) != 0;
+        }
+
+        boolean isMarked(int row, int column) {
+            return (marked[row] & (1L << column)) != 0;
+        }
+
+        void open(int row, int column) {
+            opened[row] |= 1L << column;
+        }
+
+        void toggleMark(int row, int column) {
+            marked[row] ^= 1L << column;
+        }
+    }
+
+    /**
+     * <p>
+     * Chunks by position, in an open addressing table of primitive keys.
+     * </p>
+     * Keys are spread with {@link #mix(long)} and collisions take the next
+     * slot. Removing a chunk shifts back the chunks after it, so lookups
+     * never need tombstones.
+     * */
+    private static class ChunkTable {
+
+        private long[] keys = new long[16];
+        private Chunk[] chunks = new Chunk[16];
+        private int size;
+
+        Chunk get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+                Chunk chunk = chunks[slot];
+                if (chunk == null || keys[slot] == key) {
+                    return chunk;
+                }
+            }
+        }
+
+        /**
+         * Adds a chunk whose position is not in the table.
+         * */
+        void put(Chunk chunk) {
+            // at most 3/4 full
+            if ((size + 1) * 4L > keys.length * 3L) {
+                grow();
+            }
+            insert(chunk);
+            size++;
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (chunks[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (chunks[slot] == null) {
+                return;
+            }
+
+            chunks[slot] = null;
+            size--;
+
+            // shift back the chunks that probed past the freed slot
+            for (int next = (slot + 1) & mask; chunks[next] != null; next = (next + 1) & mask) {
+                int home = slot(keys[next], mask);
+                boolean reachable = slot <= next ? home <= slot || home > next : home <= slot && home > next;
+                if (reachable) {
+                    keys[slot] = keys[next];
+                    chunks[slot] = chunks[next];
+                    chunks[next] = null;
+                    slot = next;
+                }
+            }
+        }
+
+        private void grow() {
+            Chunk[] old = chunks;
+            keys = new long[old.length << 1];
+            chunks = new Chunk[old.length << 1];
+
+            for (Chunk chunk : old) {
+                if (chunk != null) {
+                    insert(chunk);
+                }
+            }
+        }
+
+        private void insert(Chunk chunk) {
+            int mask = keys.length - 1;
+            int slot = slot(chunk.key, mask);
+            while (chunks[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = chunk.key;
+            chunks[slot] = chunk;
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) mix(key) & mask;
+        }
+    }
+}
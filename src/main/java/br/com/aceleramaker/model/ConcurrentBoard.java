@@ -0,0 +1,576 @@
+package br.com.aceleramaker.model;
+
+import br.com.aceleramaker.exception.ExplosionException;
+import br.com.aceleramaker.metrics.Metrics;
+import br.com.aceleramaker.metrics.Operation;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A Board shared by many players, for cooperative games.
+ * </p>
+ * The board is split in regions of 64 consecutive fields, one word of each
+ * state bitset, and every region is guarded by one of a fixed set of locks,
+ * the stripes. A move only takes the stripes of the fields it reads, so
+ * players on different regions do not wait for each other.
+ * <p>
+ * A cascade takes the stripes as it spreads: a stripe after every one held
+ * is waited for, one before them is only tried, since waiting for it could
+ * deadlock with a player spreading the other way. When a try fails, the
+ * move releases its stripes, takes them again in order along with the
+ * missing one, and plans the cascade again. Fields are only opened once
+ * the whole cascade is planned, so a move is atomic with respect to the
+ * others. An explosion reveals every mine and a restart changes every
+ * field, so they take every stripe, in order.
+ * </p>
+ * The counters are kept here while the board is shared, atomic so that
+ * {@link #goalAchieved()} needs no lock, and handed to the board whenever
+ * every stripe is held.
+ * */
+public class ConcurrentBoard {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    // outcomes of planning a move, any other is the stripe missing
+    private static final int PLANNED = -1;
+    private static final int NOT_OPENED = -2;
+    private static final int EXCLUSIVE = -3;
+
+    private final Board board;
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+
+    // scratch of the moves, kept between moves like the board's Cascade
+    private final Queue<Claim> claims = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger openedSafeFields = new AtomicInteger();
+    private final AtomicInteger markedFields = new AtomicInteger();
+    private final AtomicInteger flaggedMines = new AtomicInteger();
+    private volatile int safeFields;
+
+    /**
+     * <p>
+     * Constructs a shared board with the given number of rows, cols and mines.
+     * </p>
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * @param mines number of mines.
+     * @param seed seed of the generator used to sort the mines.
+     * @throws IllegalArgumentException if the mines do not fit in the board.
+     * */
+    public ConcurrentBoard(int rows, int cols, int mines, long seed) {
+        this(new Board(rows, cols, mines, seed), DEFAULT_STRIPES);
+    }
+
+    /**
+     * <p>
+     * Constructs a shared board over an existing board.
+     * </p>
+     * The board must not be used directly afterwards, only through
+     * {@link #withBoard(Consumer)}.
+     *
+     * @param board the board to be shared.
+     * @param stripes number of locks, rounded up to a power of two.
+     * */
+    public ConcurrentBoard(Board board, int stripes) {
+        int count = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+
+        this.board = board;
+        this.stripes = new ReentrantLock[count];
+        this.stripeMask = count - 1;
+
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        takeCounters();
+    }
+
+    public int getRows() {
+        return board.getRows();
+    }
+
+    public int getCols() {
+        return board.getCols();
+    }
+
+    /**
+     * <p>
+     * Opens a selected field.
+     * </p>
+     * A safe field takes the stripes of the area it opens.
+     * A mined field takes every stripe to reveal the mines.
+     *
+     * @param row number of the field's row to be opened.
+     * @param column number of the field's column to be opened.
+     * @return number of fields revealed, 0 if the field could not be opened.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * @throws ExplosionException if the selected field is mined.
+     * */
+    public int openField(int row, int column) {
+        MoveResult result = open(row, column);
+        if (result.exploded()) {
+            throw new ExplosionException("Game over!");
+        }
+        return result.revealed();
+    }
+
+    /**
+     * <p>
+     * Opens a selected field, returning the outcome of the move.
+     * </p>
+     * Same as {@link #openField(int, int)}, but a mined field is reported
+     * in the result instead of throwing, see {@link Board#open(int, int)}.
+     *
+     * @param row number of the field's row to be opened.
+     * @param column number of the field's column to be opened.
+     * @return the outcome of the move.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public MoveResult open(int row, int column) {
+        board.checkPosition(row, column);
+        int index = row * board.getCols() + column;
+        long start = Metrics.start();
+
+        MoveResult result = move(index, false);
+        if (result == null) {
+            return exclusive(() -> board.open(row, column));
+        }
+        Metrics.stop(Operation.OPEN_FIELD, start, result.revealed());
+        return result;
+    }
+
+    /**
+     * <p>
+     * Chords a selected field, see {@link Board#chord(int, int)}.
+     * </p>
+     * Takes the stripes of the neighbors and of the areas they open,
+     * or every stripe if a mark was wrong and a mine is opened.
+     *
+     * @param row number of the field's row to be chorded.
+     * @param column number of the field's column to be chorded.
+     * @return the outcome of the move.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public MoveResult chord(int row, int column) {
+        board.checkPosition(row, column);
+        int index = row * board.getCols() + column;
+        long start = Metrics.start();
+
+        MoveResult result = move(index, true);
+        if (result == null) {
+            return exclusive(() -> board.chord(row, column));
+        }
+        Metrics.stop(Operation.CHORD, start, result.revealed());
+        return result;
+    }
+
+    /**
+     * <p>
+     * Opens or chords a field holding only the stripes it touches.
+     * </p>
+     * @param index index of the field.
+     * @param chord true to chord the field, false to open it.
+     * @return the outcome of the move, or null if the move needs every stripe.
+     * */
+    private MoveResult move(int index, boolean chord) {
+        Claim claim = claim();
+        try {
+            claim.hold(stripe(index));
+
+            int outcome;
+            while ((outcome = chord ? planChord(claim, index) : planOpen(claim, index)) >= 0) {
+                claim.holdInOrder(outcome);
+            }
+
+            if (outcome == EXCLUSIVE) {
+                return null;
+            }
+            if (outcome == NOT_OPENED) {
+                return new MoveResult(false, false, 0, remainingFields() == 0);
+            }
+
+            int revealed = claim.open();
+            // added while the stripes are held, so every stripe holds a consistent count
+            int opened = openedSafeFields.addAndGet(revealed);
+            return new MoveResult(true, false, revealed, opened == safeFields);
+        } finally {
+            claim.release();
+        }
+    }
+
+    /**
+     * <p>
+     * Plans the fields opened from a field, taking their stripes.
+     * </p>
+     * @return the outcome, or the stripe that could not be taken in order.
+     * */
+    private int planOpen(Claim claim, int index) {
+        claim.clear();
+
+        if (board.isOpened(index) || board.isMarked(index)) {
+            return NOT_OPENED;
+        }
+        if (board.isMined(index)) {
+            return EXCLUSIVE;
+        }
+
+        claim.queue(index);
+        return spread(claim);
+    }
+
+    /**
+     * <p>
+     * Plans the fields opened by chording a field, taking their stripes.
+     * </p>
+     * Follows the same rules as {@link Board#chord(int, int)}.
+     *
+     * @return the outcome, or the stripe that could not be taken in order.
+     * */
+    private int planChord(Claim claim, int center) {
+        claim.clear();
+
+        if (!board.isOpened(center) || board.isMined(center)) {
+            return NOT_OPENED;
+        }
+
+        int[] neighbors = claim.neighbors;
+        int count = board.neighbors(center, neighbors);
+        for (int i = 0; i < count; i++) {
+            int stripe = stripe(neighbors[i]);
+            if (!claim.tryHold(stripe)) {
+                return stripe;
+            }
+        }
+
+        int marked = 0;
+        boolean mined = false;
+        for (int i = 0; i < count; i++) {
+            int neighbor = neighbors[i];
+
+            if (board.isMarked(neighbor)) {
+                marked++;
+            } else if (!board.isOpened(neighbor)) {
+                mined |= board.isMined(neighbor);
+                claim.queue(neighbor);
+            }
+        }
+
+        if (marked != board.countNeighborhoodMines(center) || claim.tail == 0) {
+            return NOT_OPENED;
+        }
+        if (mined) {
+            return EXCLUSIVE;
+        }
+        return spread(claim);
+    }
+
+    /**
+     * <p>
+     * Spreads the queued fields through the empty areas around them.
+     * </p>
+     * The state of a field is only read once its stripe is held,
+     * mines and counts of mines around only change on restart.
+     *
+     * @return {@link #PLANNED}, or the stripe that could not be taken in order.
+     * */
+    private int spread(Claim claim) {
+        int[] neighbors = claim.neighbors;
+
+        for (int head = 0; head < claim.tail; head++) {
+            int index = claim.queue[head];
+
+            if (board.isOpened(index) || board.isMarked(index) || board.countNeighborhoodMines(index) > 0) {
+                continue;
+            }
+
+            int count = board.neighbors(index, neighbors);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (claim.isQueued(neighbor)) {
+                    continue;
+                }
+
+                int stripe = stripe(neighbor);
+                if (!claim.tryHold(stripe)) {
+                    return stripe;
+                }
+                claim.queue(neighbor);
+            }
+        }
+        return PLANNED;
+    }
+
+    /**
+     * <p>
+     * Toggle the mark of a selected field.
+     * </p>
+     * @param row number of the field's row to be marked.
+     * @param column number of the field's column to be marked.
+     * @throws IllegalArgumentException if the position is outside the board.
+     * */
+    public void toggleMark(int row, int column) {
+        board.checkPosition(row, column);
+        int index = row * board.getCols() + column;
+        long start = Metrics.start();
+
+        int delta;
+        ReentrantLock stripe = stripes[stripe(index)];
+        stripe.lock();
+        try {
+            delta = board.flipMark(index);
+            if (delta != 0) {
+                markedFields.addAndGet(delta);
+                if (board.isMined(index)) {
+                    flaggedMines.addAndGet(delta);
+                }
+            }
+        } finally {
+            stripe.unlock();
+        }
+        Metrics.stop(Operation.TOGGLE_MARK, start, delta != 0 ? 1 : 0);
+    }
+
+    /**
+     * <p>
+     * Verifies if the players won the game.
+     * </p>
+     * @return true if all safe fields are opened, returns false otherwise.
+     * */
+    public boolean goalAchieved() {
+        long start = Metrics.start();
+        boolean achieved = remainingFields() == 0;
+        Metrics.stop(Operation.GOAL_ACHIEVED, start, achieved ? 1 : 0);
+        return achieved;
+    }
+
+    /**
+     * Gets the number of safe fields still to be opened.
+     *
+     * @return integer number of safe fields not opened yet.
+     * */
+    public int remainingFields() {
+        return safeFields - openedSafeFields.get();
+    }
+
+    /**
+     * <p>
+     * Restart the board, resetting state and mining fields again.
+     * </p>
+     * */
+    public void restartBoard() {
+        exclusive(() -> {
+            board.restartBoard();
+            return null;
+        });
+    }
+
+    /**
+     * <p>
+     * Runs an action with exclusive access to the board.
+     * </p>
+     * Useful to read a consistent state of the whole board,
+     * e.g. to render it. The counters of the board are up to date
+     * during the action.
+     *
+     * @param action the action to be run.
+     * */
+    public void withBoard(Consumer<Board> action) {
+        exclusive(() -> {
+            action.accept(board);
+            return null;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return exclusive(board::toString);
+    }
+
+    /**
+     * <p>
+     * Runs an action on the board holding every stripe.
+     * </p>
+     * The board gets the counters kept here before the action
+     * and gives them back after it.
+     * */
+    private <T> T exclusive(Supplier<T> action) {
+        lockAll();
+        try {
+            board.setCounters(openedSafeFields.get(), markedFields.get(), flaggedMines.get());
+            try {
+                return action.get();
+            } finally {
+                takeCounters();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private void takeCounters() {
+        openedSafeFields.set(board.getOpenedSafeFields());
+        markedFields.set(board.getMarkedFields());
+        flaggedMines.set(board.getFlaggedMines());
+        safeFields = board.remainingFields() + board.getOpenedSafeFields();
+    }
+
+    private int stripe(int index) {
+        // all fields of a bitset word share the same lock
+        return (index >>> 6) & stripeMask;
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    private Claim claim() {
+        Claim claim = claims.poll();
+        return claim != null ? claim : new Claim();
+    }
+
+    /**
+     * <p>
+     * The stripes held by a move and the fields it plans to open.
+     * </p>
+     * Fields are queued once, a bitset recording which of them were
+     * queued, as in the board's {@link Cascade}.
+     * */
+    private final class Claim {
+
+        private final boolean[] held = new boolean[stripes.length];
+        private final int[] holding = new int[stripes.length];
+        private int holdingCount;
+        private int highest = -1;
+
+        private int[] queue = new int[64];
+        private int tail;
+        private final long[] queued = new long[Bits.words(board.getRows() * board.getCols())];
+        private final int[] neighbors = new int[Neighbors.COUNT];
+
+        /**
+         * Takes a stripe, waiting for it, while no other is held.
+         * */
+        void hold(int stripe) {
+            stripes[stripe].lock();
+            add(stripe);
+        }
+
+        /**
+         * <p>
+         * Takes a stripe unless it is held.
+         * </p>
+         * Waits for a stripe after every held one, otherwise only tries it.
+         *
+         * @return false if the stripe is taken by another move.
+         * */
+        boolean tryHold(int stripe) {
+            if (held[stripe]) {
+                return true;
+            }
+            if (stripe > highest) {
+                stripes[stripe].lock();
+            } else if (!stripes[stripe].tryLock()) {
+                return false;
+            }
+            add(stripe);
+            return true;
+        }
+
+        /**
+         * <p>
+         * Releases the stripes and takes them again in order, along with a missing one.
+         * </p>
+         * */
+        void holdInOrder(int stripe) {
+            for (int i = holdingCount - 1; i >= 0; i--) {
+                stripes[holding[i]].unlock();
+            }
+            held[stripe] = true;
+
+            holdingCount = 0;
+            for (int i = 0; i < held.length; i++) {
+                if (held[i]) {
+                    stripes[i].lock();
+                    holding[holdingCount++] = i;
+                    highest = i;
+                }
+            }
+        }
+
+        private void add(int stripe) {
+            held[stripe] = true;
+            holding[holdingCount++] = stripe;
+            highest = Math.max(highest, stripe);
+        }
+
+        boolean isQueued(int index) {
+            return Bits.get(queued, index);
+        }
+
+        void queue(int index) {
+            Bits.set(queued, index);
+            if (tail == queue.length) {
+                queue = Arrays.copyOf(queue, queue.length << 1);
+            }
+            queue[tail++] = index;
+        }
+
+        /**
+         * <p>
+         * Opens the planned fields.
+         * </p>
+         * @return number of fields revealed.
+         * */
+        int open() {
+            int revealed = 0;
+            for (int i = 0; i < tail; i++) {
+                int index = queue[i];
+                if (!board.isMarked(index) && board.openSafe(index)) {
+                    revealed++;
+                }
+            }
+            return revealed;
+        }
+
+        void clear() {
+            // every queued field was flagged, so clearing them resets the bitset
+            for (int i = 0; i < tail; i++) {
+                queued[queue[i] >>> 6] = 0L;
+            }
+            tail = 0;
+        }
+
+        /**
+         * Releases the stripes and gives the claim back for the next move.
+         * */
+        void release() {
+            clear();
+            unlockHeld();
+            claims.offer(this);
+        }
+
+        private void unlockHeld() {
+            for (int i = holdingCount - 1; i >= 0; i--) {
+                stripes[holding[i]].unlock();
+                held[holding[i]] = false;
+            }
+            holdingCount = 0;
+            highest = -1;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package br.com.aceleramaker.model;
 
 import br.com.aceleramaker.exception.ExplosionException;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 
@@ -12,6 +14,9 @@ import java.util.List;
  * </p>
  * Each field has a position determined by row and column,
  * can be mined and can be opened or marked.
+ * A field keeps its own state and neighbors, while the fields
+ * of a Board are lightweight views over the board's state,
+ * see {@link FieldView}.
  * */
 public class Field {
     private final int row;
@@ -21,7 +26,8 @@ public class Field {
     private boolean hasMine = false;
     private boolean isMarked = false;
 
-    private List<Field> neighboringFields = new ArrayList<>();
+    // a field has at most 8 neighbors
+    private final List<Field> neighboringFields;
 
     /**
      * <p>
@@ -31,8 +37,19 @@ public class Field {
      * @param column field's column.
      * */
     Field(int row, int column) {
+        this(row, column, new ArrayList<>(8));
+    }
+
+    /**
+     * <p>
+     * Constructs a field with the given list of neighbors.
+     * </p>
+     * Views pass null, as their neighbors are read from the board.
+     * */
+    Field(int row, int column, List<Field> neighboringFields) {
         this.row = row;
         this.column = column;
+        this.neighboringFields = neighboringFields;
     }
 
     /**
@@ -69,6 +86,11 @@ public class Field {
         return false;
     }
 
+    /**
+     * Gets the neighbors of the field.
+     *
+     * @return List of adjacent fields.
+     * */
     public List<Field> getNeighboringFields() {
         return neighboringFields;
     }
@@ -89,7 +111,9 @@ public class Field {
      * Opens the field.
      * </p>
      * Verifies if the field is already opened or marked and if
-     * so, the neighbor fields are opened as well.
+     * the neighborhood is safe, the neighbor fields are opened as well.
+     * Neighbors waiting to be opened are kept in a stack instead of
+     * recursing, so large empty areas do not overflow the thread stack.
      *
      * @return true if the selected field has been opened,
      * otherwise returns false.
@@ -97,20 +121,38 @@ public class Field {
      *
      * */
     boolean openField() {
-        if (!isOpen && !isMarked) {
-            isOpen = true;
+        if (isOpen || isMarked) {
+            return false;
+        }
 
-            if (hasMine) {
-                throw new ExplosionException("Game over!");
-            }
+        isOpen = true;
 
-            if (isNeighborhoodSafe()) {
-                neighboringFields.forEach(Field::openField);
-            }
+        if (hasMine) {
+            throw new ExplosionException("Game over!");
+        }
 
-            return true;
+        if (isNeighborhoodSafe()) {
+            Deque<Field> pending = new ArrayDeque<>(neighboringFields);
+
+            while (!pending.isEmpty()) {
+                Field field = pending.pop();
+
+                // neighbors of a safe field are never mined
+                if (!field.isOpen && !field.isMarked) {
+                    field.isOpen = true;
+
+                    if (field.isNeighborhoodSafe()) {
+                        for (Field neighbor : field.neighboringFields) {
+                            if (!neighbor.isOpen && !neighbor.isMarked) {
+                                pending.push(neighbor);
+                            }
+                        }
+                    }
+                }
+            }
         }
-        return false;
+
+        return true;
     }
 
     /**
@@ -120,8 +162,7 @@ public class Field {
      * @return true if the neighborhood is safe, otherwise returns false.
      * */
     boolean isNeighborhoodSafe() {
-        return neighboringFields.stream()
-                .noneMatch(nField -> nField.hasMine);
+        return countNeighborhoodMines() == 0;
     }
 
     /**
@@ -130,9 +171,7 @@ public class Field {
      * </p>
      * */
     void mine() {
-        if (!hasMine) {
-            hasMine = true;
-        }
+        hasMine = true;
     }
 
     public boolean isMined() {
@@ -182,7 +221,7 @@ public class Field {
     public int getColumn() {
         return column;
     }
-    
+
     /**<p>
      * Determines if the goal is achieved for the field.
      * </p>
@@ -192,8 +231,9 @@ public class Field {
      *
      * */
     boolean fieldGoalAchieved() {
-        boolean revealedField = !hasMine && isOpen;
-        boolean protectedField = hasMine && isMarked;
+        boolean mined = isMined();
+        boolean revealedField = !mined && isOpened();
+        boolean protectedField = mined && isMarked();
 
         return protectedField || revealedField;
     }
@@ -206,7 +246,13 @@ public class Field {
      * @return long number of mines in adjacent fields.
      * */
     long countNeighborhoodMines() {
-        return neighboringFields.stream().filter(neighbor -> neighbor.hasMine).count();
+        long count = 0;
+        for (Field neighbor : neighboringFields) {
+            if (neighbor.hasMine) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -236,12 +282,11 @@ public class Field {
      * */
     @Override
     public String toString() {
-        if (isMarked) return "x";
-        if (isOpen && hasMine) return "*";
-        if (isOpen && countNeighborhoodMines() > 0) {
-            return Long.toString(countNeighborhoodMines());
-        }
-        if (isOpen) return " ";
-        return "?";
+        if (isMarked()) return "x";
+        if (isOpened() && isMined()) return "*";
+        if (!isOpened()) return "?";
+
+        long neighborhoodMines = countNeighborhoodMines();
+        return neighborhoodMines > 0 ? Long.toString(neighborhoodMines) : " ";
     }
 }
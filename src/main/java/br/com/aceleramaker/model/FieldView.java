@@ -0,0 +1,119 @@
+package br.com.aceleramaker.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A field of a Board, read from the board's state.
+ * </p>
+ * The view only holds the board and the index of the field, row by row,
+ * so the board keeps no object per field. Views are created on each
+ * lookup, by {@link Board#getField(int, int)} and {@link Board#getFields()},
+ * and two views of the same field are equal.
+ * <p>
+ * Neighbors are defined by the board, so {@link #addNeighbor(Field)}
+ * adds nothing and returns false.
+ * </p>
+ * */
+final class FieldView extends Field {
+
+    private final Board board;
+    private final int index;
+
+    /**
+     * <p>
+     * Constructs a view of a field of a board.
+     * </p>
+     * @param board board the field belongs to.
+     * @param index index of the field in the board, row by row.
+     * */
+    FieldView(Board board, int index) {
+        super(index / board.getCols(), index % board.getCols(), null);
+        this.board = board;
+        this.index = index;
+    }
+
+    @Override
+    boolean addNeighbor(Field neighbor) {
+        return false;
+    }
+
+    @Override
+    public List<Field> getNeighboringFields() {
+        int[] indexes = new int[8];
+        int count = board.neighbors(index, indexes);
+
+        List<Field> neighbors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            neighbors.add(new FieldView(board, indexes[i]));
+        }
+        return neighbors;
+    }
+
+    @Override
+    void switchMarkedField() {
+        board.toggleMark(index);
+    }
+
+    @Override
+    boolean openField() {
+        return board.openField(index) > 0;
+    }
+
+    @Override
+    void mine() {
+        board.mine(index);
+    }
+
+    @Override
+    public boolean isMined() {
+        return board.isMined(index);
+    }
+
+    @Override
+    public boolean isMarked() {
+        return board.isMarked(index);
+    }
+
+    @Override
+    public boolean isOpened() {
+        return board.isOpened(index);
+    }
+
+    @Override
+    void setIsOpen() {
+        board.reveal(index);
+    }
+
+    @Override
+    long countNeighborhoodMines() {
+        return board.countNeighborhoodMines(index);
+    }
+
+    @Override
+    void restartField() {
+        board.restartField(index);
+    }
+
+    /**
+     * <p>
+     * Compares views by position.
+     * </p>
+     * Two views are equal when they show the same field of the same board.
+     *
+     * @param o the object to compare.
+     * @return true if both represent the same field.
+     * */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FieldView other)) return false;
+        return board == other.board && index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+}
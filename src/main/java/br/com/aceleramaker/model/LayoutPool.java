@@ -0,0 +1,303 @@
+package br.com.aceleramaker.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Prepares mine layouts ahead for boards to restart instantly.
+ * </p>
+ * Each restart of a board places its mines from a seed drawn from the
+ * board's own generator, see {@link Board#restartBoard()}. A board using
+ * the pool draws the seed of its next restart ahead of time, and the pool
+ * places the mines from that seed on a background thread. On restart the
+ * board swaps the ready layout in place of its own mines, which are given
+ * back to the pool so their memory is reused by the next layout. When the
+ * layout is not ready the board places the same mines itself, so restarts
+ * do not depend on the pool and a seeded game is reproduced exactly.
+ * <p>
+ * Layouts are kept per board configuration (rows, columns and mines), up to
+ * a pool size shared by the boards of that configuration. A layout only
+ * serves the board that asked for it, so a ready layout is never dropped
+ * to make room for another board: when the configuration is full, the board
+ * asking places its own mines on restart and asks again for the next one.
+ * With more boards than the pool size, the first boards to ask keep their
+ * room and the others miss. Hits and misses are counted to size the pool.
+ * </p>
+ * A board leaving the pool, see {@link Board#setLayoutPool(LayoutPool)},
+ * gives up its layout.
+ * */
+public class LayoutPool implements AutoCloseable {
+
+    private static final int DEFAULT_POOL_SIZE = 4;
+
+    private final int defaultPoolSize;
+    private final Map<Configuration, Shelf> shelves = new ConcurrentHashMap<>();
+    private final ExecutorService refillers;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * <p>
+     * Constructs a pool keeping 4 layouts per configuration, prepared by one thread.
+     * </p>
+     * */
+    public LayoutPool() {
+        this(DEFAULT_POOL_SIZE, 1);
+    }
+
+    /**
+     * <p>
+     * Constructs a pool.
+     * </p>
+     * @param poolSize number of layouts kept per configuration.
+     * @param threads number of threads preparing layouts.
+     * @throws IllegalArgumentException if the size is negative or there are no threads.
+     * */
+    public LayoutPool(int poolSize, int threads) {
+        if (poolSize < 0 || threads < 1) {
+            throw new IllegalArgumentException("Invalid pool. The size must not be negative and it needs a thread");
+        }
+
+        this.defaultPoolSize = poolSize;
+        this.refillers = Executors.newFixedThreadPool(
+                threads, Thread.ofPlatform().daemon().name("layout-pool-", 0).factory()
+        );
+    }
+
+    /**
+     * <p>
+     * Sets the number of layouts kept for a configuration.
+     * </p>
+     * Each board of the configuration needs one layout for its next restart,
+     * at the cost of about 5 bits per field.
+     *
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * @param mines number of mines.
+     * @param poolSize number of layouts kept.
+     * @throws IllegalArgumentException if the size is negative.
+     * */
+    public void setPoolSize(int rows, int cols, int mines, int poolSize) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("Invalid pool. The size must not be negative");
+        }
+
+        Shelf shelf = shelf(rows, cols, mines);
+        synchronized (shelf) {
+            shelf.capacity = poolSize;
+            while (shelf.ready.size() > poolSize) {
+                evictOldest(shelf);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of layouts ready for a configuration.
+     *
+     * @return integer number of ready layouts.
+     * */
+    public int available(int rows, int cols, int mines) {
+        Shelf shelf = shelves.get(new Configuration(rows, cols, mines));
+        if (shelf == null) {
+            return 0;
+        }
+        synchronized (shelf) {
+            return shelf.ready.size();
+        }
+    }
+
+    /**
+     * Gets the number of restarts served by a ready layout.
+     *
+     * @return long number of hits.
+     * */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of restarts that found no layout ready.
+     *
+     * @return long number of misses.
+     * */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * <p>
+     * Starts preparing the layout placed from a seed.
+     * </p>
+     * Nothing is done if the layout is already asked for, or if the
+     * configuration has no room left. Ready layouts are kept for their
+     * boards, so none is dropped to make room.
+     * */
+    void prepare(int rows, int cols, int mines, long seed) {
+        Shelf shelf = shelf(rows, cols, mines);
+        synchronized (shelf) {
+            if (shelf.ready.containsKey(seed) || shelf.preparing.contains(seed)) {
+                return;
+            }
+            if (shelf.ready.size() + shelf.preparing.size() >= shelf.capacity) {
+                return;
+            }
+            shelf.preparing.add(seed);
+        }
+
+        try {
+            refillers.execute(() -> {
+                MineLayout layout = prepareLayout(shelf, seed);
+                synchronized (shelf) {
+                    // a board that missed the layout no longer wants it
+                    if (shelf.preparing.remove(seed)) {
+                        shelf.ready.put(seed, layout);
+                        return;
+                    }
+                }
+                recycle(shelf, layout);
+            });
+        } catch (RejectedExecutionException e) {
+            // the pool was closed
+            synchronized (shelf) {
+                shelf.preparing.remove(seed);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Takes the layout placed from a seed, if it is ready.
+     * </p>
+     * @return the layout, or null if it is not ready.
+     * */
+    MineLayout take(int rows, int cols, int mines, long seed) {
+        Shelf shelf = shelf(rows, cols, mines);
+        MineLayout layout;
+        synchronized (shelf) {
+            layout = shelf.ready.remove(seed);
+            if (layout == null) {
+                shelf.preparing.remove(seed);
+            }
+        }
+
+        if (layout != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return layout;
+    }
+
+    /**
+     * <p>
+     * Gives up the layout placed from a seed, freeing its room.
+     * </p>
+     * */
+    void cancel(int rows, int cols, int mines, long seed) {
+        Shelf shelf = shelf(rows, cols, mines);
+        MineLayout layout;
+        synchronized (shelf) {
+            layout = shelf.ready.remove(seed);
+            shelf.preparing.remove(seed);
+        }
+        if (layout != null) {
+            recycle(shelf, layout);
+        }
+    }
+
+    /**
+     * <p>
+     * Gives back the bitsets of a layout no longer used by a board.
+     * </p>
+     * */
+    void recycle(int rows, int cols, int mines, MineLayout layout) {
+        recycle(shelf(rows, cols, mines), layout);
+    }
+
+    private static void recycle(Shelf shelf, MineLayout layout) {
+        if (shelf.spares.size() < shelf.capacity) {
+            shelf.spares.offer(layout);
+        }
+    }
+
+    private static void evictOldest(Shelf shelf) {
+        Iterator<MineLayout> oldest = shelf.ready.values().iterator();
+        MineLayout layout = oldest.next();
+        oldest.remove();
+        recycle(shelf, layout);
+    }
+
+    private Shelf shelf(int rows, int cols, int mines) {
+        return shelves.computeIfAbsent(
+                new Configuration(rows, cols, mines), configuration -> new Shelf(configuration, defaultPoolSize)
+        );
+    }
+
+    private static MineLayout prepareLayout(Shelf shelf, long seed) {
+        Configuration configuration = shelf.configuration;
+        int size = configuration.rows() * configuration.cols();
+
+        MineLayout layout = shelf.spares.poll();
+        if (layout != null) {
+            Arrays.fill(layout.minedPlane(), 0L);
+            Arrays.fill(layout.neighborhoodMines(), 0L);
+        } else {
+            layout = new MineLayout(new long[Bits.words(size)], new long[Bits.nibbleWords(size)]);
+        }
+
+        Board.placeMines(shelf.adjacency, configuration.mines(), Board.NO_FIELDS, new SplittableRandom(seed),
+                layout.minedPlane(), layout.neighborhoodMines());
+        return layout;
+    }
+
+    /**
+     * <p>
+     * Stops preparing layouts.
+     * </p>
+     * Boards using the pool keep working, placing their own mines on restart.
+     * */
+    @Override
+    public void close() {
+        refillers.shutdownNow();
+    }
+
+    private record Configuration(int rows, int cols, int mines) {
+    }
+
+    /**
+     * <p>
+     * The layouts of a configuration.
+     * </p>
+     * The ready layouts, by seed in the order they were prepared, and the
+     * seeds being prepared are guarded by the shelf.
+     * */
+    private static class Shelf {
+
+        private final Configuration configuration;
+        private final Adjacency adjacency;
+        private final Map<Long, MineLayout> ready = new LinkedHashMap<>();
+        private final Set<Long> preparing = new HashSet<>();
+        private final Queue<MineLayout> spares = new ConcurrentLinkedQueue<>();
+        private volatile int capacity;
+
+        Shelf(Configuration configuration, int capacity) {
+            this.configuration = configuration;
+            this.adjacency = new Adjacency(configuration.rows(), configuration.cols());
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.aceleramaker.model;
+
+/**
+ * <p>
+ * Mines of a board, ready to be swapped into it.
+ * </p>
+ * @param minedPlane bitset of mined fields.
+ * @param neighborhoodMines counts of mines around each field, 4 bits per field.
+ * */
+record MineLayout(long[] minedPlane, long[] neighborhoodMines) {
+}
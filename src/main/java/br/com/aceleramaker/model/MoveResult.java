@@ -0,0 +1,13 @@
+package br.com.aceleramaker.model;
+
+/**
+ * <p>
+ * Outcome of opening a field, see {@link Board#open(int, int)}.
+ * </p>
+ * @param opened true if the field was closed and is now opened, mined or not.
+ * @param exploded true if the field was mined, so the game is lost.
+ * @param revealed number of safe fields revealed.
+ * @param won true if every safe field is opened after the move.
+ * */
+public record MoveResult(boolean opened, boolean exploded, int revealed, boolean won) {
+}
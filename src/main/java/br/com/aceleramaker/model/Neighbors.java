@@ -0,0 +1,70 @@
+package br.com.aceleramaker.model;
+
+/**
+ * <p>
+ * The 8 fields around a field.
+ * </p>
+ * Neighbors are numbered from 0 to {@link #COUNT} - 1, row by row,
+ * so a neighbor's number may be used as a bit of a mask. Boards, chunked
+ * boards and solvers all walk the neighbors in this order.
+ * */
+public final class Neighbors {
+
+    /** Number of neighbors of a field away from the borders. */
+    public static final int COUNT = 8;
+
+    // row/column offsets of the 8 cells surrounding a field
+    private static final int[] ROW_OFFSETS = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] COL_OFFSETS = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+    private Neighbors() {
+    }
+
+    /**
+     * Gets the row offset of a neighbor.
+     *
+     * @param neighbor number of the neighbor, from 0 to {@link #COUNT} - 1.
+     * @return -1, 0 or 1.
+     * */
+    public static int rowOffset(int neighbor) {
+        return ROW_OFFSETS[neighbor];
+    }
+
+    /**
+     * Gets the column offset of a neighbor.
+     *
+     * @param neighbor number of the neighbor, from 0 to {@link #COUNT} - 1.
+     * @return -1, 0 or 1.
+     * */
+    public static int colOffset(int neighbor) {
+        return COL_OFFSETS[neighbor];
+    }
+
+    /**
+     * <p>
+     * Finds the neighbors of a field inside a grid.
+     * </p>
+     * Neighbors outside the grid are skipped, the others are written
+     * in order as indexes {@code row * cols + column}.
+     *
+     * @param rows number of rows of the grid.
+     * @param cols number of columns of the grid.
+     * @param row row of the field.
+     * @param column column of the field.
+     * @param neighbors receives the indexes, with room for {@link #COUNT}.
+     * @return number of neighbors found.
+     * */
+    public static int of(int rows, int cols, int row, int column, int[] neighbors) {
+        int count = 0;
+
+        for (int i = 0; i < COUNT; i++) {
+            int r = row + ROW_OFFSETS[i];
+            int c = column + COL_OFFSETS[i];
+
+            if (r >= 0 && r < rows && c >= 0 && c < cols) {
+                neighbors[count++] = r * cols + c;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.aceleramaker.replay;
+
+import br.com.aceleramaker.model.Board;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * Append-only binary log of the moves of a game.
+ * </p>
+ * The log starts with a header holding how the board was generated,
+ * followed by one fixed-width record per move:
+ * <ul>
+ *   <li>header: magic "MSWL", version, rows, cols, mines, the row and column
+ *   of the safe start or -1 (int), and seed (long).</li>
+ *   <li>move: action, row and column (int). Restarts have row and column 0.</li>
+ * </ul>
+ * Moves are written into a buffer and a background thread writes full
+ * buffers, or whatever was logged every flush interval, to the file.
+ * Logging a move only copies 12 bytes, unless both buffers are full.
+ * As the mines come from the seed and the safe start, the log is enough
+ * to replay the game, including boards built with no mines around a first
+ * click or by a {@link br.com.aceleramaker.solver.NoGuessGenerator},
+ * see {@link Replayer}.
+ * */
+public class MoveLog implements AutoCloseable {
+
+    static final int MAGIC = 0x4D53574C;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 7 * Integer.BYTES + Long.BYTES;
+    static final int RECORD_BYTES = 3 * Integer.BYTES;
+
+    static final int OPEN = 1;
+    static final int TOGGLE = 2;
+    static final int RESTART = 3;
+
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final long flushIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition logged = lock.newCondition();
+    private final Condition swapped = lock.newCondition();
+
+    // moves are logged into the active buffer while the other one is written
+    private ByteBuffer active = newBuffer();
+    private ByteBuffer spare = newBuffer();
+    private boolean closed;
+    private volatile IOException failure;
+
+    private final Thread flusher;
+
+    /**
+     * <p>
+     * Creates a log for a game played on the given board.
+     * </p>
+     * The board should be built from a seed, see {@link Board#getSeed()},
+     * and not yet restarted.
+     *
+     * @param path the file to be written, replaced if it exists.
+     * @param board the board of the game.
+     * @param flushIntervalMillis longest time a move waits to be written.
+     * @throws IOException if the file cannot be written.
+     * */
+    public MoveLog(Path path, Board board, long flushIntervalMillis) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(board.getRows())
+                .putInt(board.getCols())
+                .putInt(board.getMines())
+                .putInt(board.getSafeStartRow())
+                .putInt(board.getSafeStartColumn())
+                .putLong(board.getSeed())
+                .flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        this.flusher = Thread.ofPlatform().daemon().name("move-log-flusher").start(this::flushLoop);
+    }
+
+    public void open(int row, int column) {
+        append(OPEN, row, column);
+    }
+
+    public void toggleMark(int row, int column) {
+        append(TOGGLE, row, column);
+    }
+
+    public void restart() {
+        append(RESTART, 0, 0);
+    }
+
+    /**
+     * <p>
+     * Writes the logged moves and closes the file.
+     * </p>
+     * @throws IOException if the moves could not be written.
+     * */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            logged.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        channel.force(false);
+        channel.close();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void append(int action, int row, int column) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Move log is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+
+            // both buffers are full, wait for the flusher to write one
+            while (active.remaining() < RECORD_BYTES) {
+                logged.signal();
+                swapped.awaitUninterruptibly();
+            }
+
+            active.putInt(action).putInt(row).putInt(column);
+
+            if (active.remaining() < RECORD_BYTES) {
+                logged.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the logged moves whenever a buffer is full or the interval passes.
+     * </p>
+     * */
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer full;
+
+            lock.lock();
+            try {
+                long wait = flushIntervalNanos;
+                while (!closed && active.remaining() >= RECORD_BYTES && wait > 0) {
+                    wait = logged.awaitNanos(wait);
+                }
+
+                if (active.position() == 0) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+
+                full = active;
+                active = spare;
+                spare = null;
+                swapped.signalAll();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                full.flip();
+                while (full.hasRemaining()) {
+                    channel.write(full);
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            full.clear();
+
+            lock.lock();
+            try {
+                spare = full;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static ByteBuffer newBuffer() {
+        return ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.aceleramaker.replay;
+
+import br.com.aceleramaker.model.Board;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * Rebuilds games from the logs written by {@link MoveLog}.
+ * </p>
+ * The board is built from the logged size, mines, seed and safe start,
+ * and the moves are applied in order, so the result is the same board
+ * the player had.
+ * */
+public final class Replayer {
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private Replayer() {
+    }
+
+    /**
+     * <p>
+     * Replays a single game.
+     * </p>
+     * Explosions are part of the game and do not stop the replay.
+     *
+     * @param path the log to be replayed.
+     * @return the board after the last logged move.
+     * @throws IOException if the log cannot be read or is not a move log.
+     * */
+    public static Board replay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+
+            if (!fill(channel, buffer, MoveLog.HEADER_BYTES) || buffer.getInt() != MoveLog.MAGIC) {
+                throw new IOException("Not a move log: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != MoveLog.VERSION) {
+                throw new IOException("Unsupported move log version: " + version);
+            }
+
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+            int mines = buffer.getInt();
+            int startRow = buffer.getInt();
+            int startColumn = buffer.getInt();
+            long seed = buffer.getLong();
+
+            Board board = startRow == -1
+                    ? new Board(rows, cols, mines, seed)
+                    : Board.withSafeStart(rows, cols, mines, seed, startRow, startColumn);
+
+            while (fill(channel, buffer, MoveLog.RECORD_BYTES)) {
+                while (buffer.remaining() >= MoveLog.RECORD_BYTES) {
+                    apply(board, buffer.getInt(), buffer.getInt(), buffer.getInt());
+                }
+            }
+            return board;
+        }
+    }
+
+    /**
+     * <p>
+     * Replays many games in parallel.
+     * </p>
+     * Each game is replayed on the common fork-join pool and handed to
+     * the check, which must be thread-safe. Boards are not kept afterwards.
+     *
+     * @param paths the logs to be replayed.
+     * @param check receives each log with its replayed board.
+     * @throws UncheckedIOException if a log cannot be read.
+     * */
+    public static void replayAll(Collection<Path> paths, BiConsumer<Path, Board> check) {
+        paths.parallelStream().forEach(path -> {
+            try {
+                check.accept(path, replay(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void apply(Board board, int action, int row, int column) {
+        // a lost game is reported by open without throwing
+        switch (action) {
+            case MoveLog.OPEN -> board.open(row, column);
+            case MoveLog.TOGGLE -> board.toggleMark(row, column);
+            case MoveLog.RESTART -> board.restartBoard();
+            default -> throw new IllegalArgumentException("Unknown logged action: " + action);
+        }
+    }
+
+    /**
+     * <p>
+     * Reads from the channel until the buffer has at least the given bytes.
+     * </p>
+     * @return true if the bytes are available, false at the end of the log.
+     * */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+}
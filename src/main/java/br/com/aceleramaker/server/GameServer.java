@@ -0,0 +1,165 @@
+package br.com.aceleramaker.server;
+
+import br.com.aceleramaker.model.Board;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Serves games to many players over a local TCP socket.
+ * </p>
+ * Every connection gets its own Board and runs as a {@link GameSession}
+ * on a virtual thread, using the same line protocol as the console game:
+ * the coordinates as "row,column", then "1" to open or "2" to toggle the mark.
+ * Sessions idle for longer than the timeout are evicted.
+ * */
+public class GameServer implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(GameServer.class.getName());
+
+    private static final int BACKLOG = 4096;
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1_000;
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+
+    private final ServerSocket serverSocket;
+    private final SessionRegistry registry;
+    private final ExecutorService sessionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService evictionExecutor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().daemon().name("session-eviction").unstarted(runnable)
+    );
+    private final AtomicLong nextSessionId = new AtomicLong();
+
+    /**
+     * <p>
+     * Constructs a server listening on the loopback address.
+     * </p>
+     * @param port port to listen on, 0 for any free port.
+     * @param rows number of rows of each board.
+     * @param cols number of columns of each board.
+     * @param mines number of mines of each board.
+     * @param idleTimeout time without input before a session is evicted.
+     * @throws IOException if the port cannot be opened.
+     * */
+    public GameServer(int port, int rows, int cols, int mines, Duration idleTimeout) throws IOException {
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.registry = new SessionRegistry(idleTimeout);
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+
+        long period = Math.max(idleTimeout.toMillis() / 2, 1);
+        evictionExecutor.scheduleAtFixedRate(registry::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the local port.
+     * */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of games being played.
+     *
+     * @return integer number of sessions.
+     * */
+    public int getSessionCount() {
+        return registry.size();
+    }
+
+    /**
+     * <p>
+     * Accepts players until the server is closed.
+     * </p>
+     * Blocks the calling thread, each player is served on a virtual thread.
+     * When accepting fails, the error is logged and the server waits before
+     * accepting again, from 10 ms doubling up to 1 s, so a persistent failure
+     * such as running out of file descriptors does not spin a core. A connection
+     * whose session cannot be started is logged and closed.
+     * */
+    public void serve() {
+        long backoffMillis = 0;
+
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+                backoffMillis = 0;
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                LOGGER.log(System.Logger.Level.WARNING, "Failed to accept a player", e);
+
+                backoffMillis = Math.min(Math.max(backoffMillis * 2, MIN_BACKOFF_MILLIS), MAX_BACKOFF_MILLIS);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+
+            startSession(socket);
+        }
+    }
+
+    /**
+     * <p>
+     * Starts the session of a connected player.
+     * </p>
+     * On failure the session is unregistered and the socket closed.
+     * */
+    private void startSession(Socket socket) {
+        GameSession session = null;
+        try {
+            socket.setTcpNoDelay(true);
+
+            session = new GameSession(nextSessionId.incrementAndGet(), socket, new Board(rows, cols, mines), registry);
+            registry.register(session);
+            sessionExecutor.execute(session);
+        } catch (IOException | RuntimeException e) {
+            if (!serverSocket.isClosed()) {
+                LOGGER.log(System.Logger.Level.WARNING, "Failed to start a session", e);
+            }
+            if (session != null) {
+                registry.unregister(session);
+            }
+            try {
+                socket.close();
+            } catch (IOException closing) {
+                e.addSuppressed(closing);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Stops accepting players and closes every session.
+     * </p>
+     * @throws IOException if the server socket cannot be closed.
+     * */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        evictionExecutor.shutdownNow();
+        registry.closeAll();
+        sessionExecutor.shutdown();
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.aceleramaker.server;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.view.BoardConsoleView;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * A game played by a single player connected to the server.
+ * </p>
+ * Each session has its own Board and plays it through a {@link BoardConsoleView}
+ * over the player's socket, so the protocol is the same as the console game.
+ * The session keeps the time of the last input, so idle sessions can be evicted.
+ * */
+class GameSession implements Runnable {
+
+    private static final System.Logger LOGGER = System.getLogger(GameSession.class.getName());
+
+    private final long id;
+    private final Socket socket;
+    private final Board board;
+    private final SessionRegistry registry;
+
+    private volatile long lastActivity = System.nanoTime();
+    private volatile boolean closed;
+    private volatile IOException readFailure;
+
+    /**
+     * <p>
+     * Constructs a session for a connected player.
+     * </p>
+     * @param id identifier of the session.
+     * @param socket the player's connection.
+     * @param board the board played in this session.
+     * @param registry registry tracking the session.
+     * */
+    GameSession(long id, Socket socket, Board board, SessionRegistry registry) {
+        this.id = id;
+        this.socket = socket;
+        this.board = board;
+        this.registry = registry;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the time of the last input received from the player.
+     *
+     * @return time in nanoseconds, as in {@link System#nanoTime()}.
+     * */
+    long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * <p>
+     * Plays the game until the player exits or disconnects.
+     * </p>
+     * Errors reading from or writing to the player are logged, unless the
+     * session was closed by the server. A player closing the connection
+     * is not an error.
+     * */
+    @Override
+    public void run() {
+        PrintStream out = null;
+        Exception failure = null;
+
+        try (socket) {
+            InputStream in = new ActivityInputStream(socket.getInputStream());
+            out = new PrintStream(
+                    new BufferedOutputStream(socket.getOutputStream()), false, StandardCharsets.UTF_8
+            );
+
+            new BoardConsoleView(board, in, out);
+        } catch (NoSuchElementException e) {
+            // the player closed the connection
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        } finally {
+            registry.unregister(this);
+        }
+
+        // the view reads through a Scanner and writes through a PrintStream, both keep I/O errors to themselves
+        if (failure == null) {
+            failure = readFailure;
+        }
+        if (failure == null && out != null && out.checkError()) {
+            failure = new IOException("Failed to write to the player");
+        }
+        if (failure != null && !closed) {
+            LOGGER.log(System.Logger.Level.WARNING, "Session " + id + " failed", failure);
+        }
+    }
+
+    /**
+     * <p>
+     * Closes the player's connection, ending the game.
+     * </p>
+     * */
+    void close() {
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    /**
+     * Records the time of each read from the player, and the read that failed.
+     * */
+    private class ActivityInputStream extends FilterInputStream {
+
+        ActivityInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int read = super.read();
+                lastActivity = System.nanoTime();
+                return read;
+            } catch (IOException e) {
+                readFailure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int read = super.read(b, off, len);
+                lastActivity = System.nanoTime();
+                return read;
+            } catch (IOException e) {
+                readFailure = e;
+                throw e;
+            }
+        }
+    }
+}
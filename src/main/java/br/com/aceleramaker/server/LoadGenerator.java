@@ -0,0 +1,197 @@
+package br.com.aceleramaker.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * <p>
+ * Plays many concurrent games against a {@link GameServer} to measure it.
+ * </p>
+ * Each simulated player runs on a virtual thread and plays random moves,
+ * restarting the game whenever it ends. The time from sending a move to
+ * receiving the next prompt is recorded, and the total moves per second
+ * and the latency percentiles are printed at the end.
+ * <p>
+ * Latencies are counted in power of two buckets, as in
+ * {@link br.com.aceleramaker.metrics.BoardMetrics}, so any number of moves
+ * takes the same memory and percentiles are at most twice the real value.
+ * </p>
+ * <p>
+ * Usage: {@code LoadGenerator [port] [players] [moves per player] [rows] [cols]}
+ * </p>
+ * */
+public class LoadGenerator {
+
+    private static final String COORDINATES_PROMPT = "(x,y): ";
+    private static final String RESTART_PROMPT = "(Y/n): ";
+    private static final int BUCKETS = Long.SIZE;
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+        int cols = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+
+        if (players < 0 || moves < 0) {
+            throw new IllegalArgumentException("Invalid load. Players and moves must not be negative");
+        }
+
+        AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+        LongAccumulator maxLatency = new LongAccumulator(Math::max, 0L);
+
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>(players);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < players; i++) {
+                long seed = i;
+                results.add(executor.submit(() -> {
+                    play(port, moves, rows, cols, seed, latencies, maxLatency);
+                    return null;
+                }));
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        int failures = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+
+        long count = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            count += latencies.get(b);
+        }
+
+        System.out.printf("players: %d (%d failed), moves: %d%n", players, failures, count);
+        System.out.printf("moves/sec: %,.0f%n", count / (elapsed / 1e9));
+        System.out.printf("latency p50: <= %.3f ms, p99: <= %.3f ms, max: %.3f ms%n",
+                Math.min(percentile(latencies, count, 0.50), maxLatency.get()) / 1e6,
+                Math.min(percentile(latencies, count, 0.99), maxLatency.get()) / 1e6,
+                maxLatency.get() / 1e6);
+    }
+
+    /**
+     * <p>
+     * Plays random moves as a single player.
+     * </p>
+     * The latency of each move is counted in its bucket, so the moves of a
+     * player that fails halfway are kept.
+     *
+     * @param latencies buckets counting the moves by latency.
+     * @param maxLatency the largest latency, in nanoseconds.
+     * */
+    private static void play(int port, int moves, int rows, int cols, long seed,
+                             AtomicLongArray latencies, LongAccumulator maxLatency) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
+            );
+            Writer out = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)
+            );
+
+            awaitPrompt(in);
+
+            for (int i = 0; i < moves; i++) {
+                int action = random.nextInt(4) == 0 ? 2 : 1;
+                out.write(random.nextInt(rows) + "," + random.nextInt(cols) + "\n" + action + "\n");
+
+                long sent = System.nanoTime();
+                out.flush();
+                String prompt = awaitPrompt(in);
+                long latency = System.nanoTime() - sent;
+                latencies.incrementAndGet(bucket(latency));
+                maxLatency.accumulate(latency);
+
+                if (prompt.equals(RESTART_PROMPT)) {
+                    out.write("s\n");
+                    out.flush();
+                    awaitPrompt(in);
+                }
+            }
+
+            out.write("exit\n");
+            out.flush();
+        }
+    }
+
+    /**
+     * <p>
+     * Reads the server output until it asks for coordinates or for a restart.
+     * </p>
+     * @return the prompt found.
+     * @throws IOException if the connection is closed before a prompt.
+     * */
+    private static String awaitPrompt(BufferedReader in) throws IOException {
+        StringBuilder line = new StringBuilder();
+
+        int read;
+        while ((read = in.read()) != -1) {
+            if (read == '\n') {
+                line.setLength(0);
+                continue;
+            }
+
+            line.append((char) read);
+            if (endsWith(line, COORDINATES_PROMPT)) return COORDINATES_PROMPT;
+            if (endsWith(line, RESTART_PROMPT)) return RESTART_PROMPT;
+        }
+        throw new IOException("Connection closed by the server");
+    }
+
+    private static boolean endsWith(StringBuilder line, String suffix) {
+        int offset = line.length() - suffix.length();
+        return offset >= 0 && line.indexOf(suffix, offset) == offset;
+    }
+
+    /**
+     * Gets the upper bound of the bucket holding a percentile of the latencies.
+     * */
+    private static long percentile(AtomicLongArray latencies, long count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += latencies.get(b);
+            if (seen >= rank) {
+                return upperBound(b);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int bucket(long value) {
+        return value <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(value);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0L : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.aceleramaker.server;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Keeps track of the sessions running on the server.
+ * </p>
+ * Sessions are registered when a player connects and removed when the game ends.
+ * Sessions without input for longer than the idle timeout are evicted,
+ * closing the player's connection.
+ * */
+class SessionRegistry {
+
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+
+    /**
+     * <p>
+     * Constructs a registry evicting sessions idle for the given time.
+     * </p>
+     * @param idleTimeout time without input before a session is evicted.
+     * */
+    SessionRegistry(Duration idleTimeout) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    void register(GameSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    void unregister(GameSession session) {
+        sessions.remove(session.getId());
+    }
+
+    /**
+     * Gets the number of running sessions.
+     *
+     * @return integer number of sessions.
+     * */
+    int size() {
+        return sessions.size();
+    }
+
+    /**
+     * <p>
+     * Closes the sessions idle for longer than the timeout.
+     * </p>
+     * @return number of sessions evicted.
+     * */
+    int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastActivity() > idleTimeoutNanos) {
+                sessions.remove(session.getId());
+                session.close();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * <p>
+     * Closes every session.
+     * </p>
+     * */
+    void closeAll() {
+        sessions.values().forEach(GameSession::close);
+        sessions.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.aceleramaker.simulation;
+
+import br.com.aceleramaker.model.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * <p>
+ * Strategy opening a random closed field on every move.
+ * </p>
+ * Fields are drawn at random until a closed, unmarked one is found.
+ * When most of the board is opened, after a few draws the fields are
+ * scanned from a random position instead.
+ * */
+public class RandomStrategy implements Strategy {
+
+    private static final int MAX_DRAWS = 16;
+
+    @Override
+    public void nextMove(Board board, SplittableRandom random, int[] command) {
+        int cols = board.getCols();
+        int fields = board.getRows() * cols;
+
+        int index = random.nextInt(fields);
+        for (int draw = 1; draw < MAX_DRAWS && !isClosed(board, index, cols); draw++) {
+            index = random.nextInt(fields);
+        }
+        for (int i = 0; i < fields && !isClosed(board, index, cols); i++) {
+            index = index + 1 == fields ? 0 : index + 1;
+        }
+
+        command[0] = Board.OPEN;
+        command[1] = index / cols;
+        command[2] = index % cols;
+    }
+
+    private static boolean isClosed(Board board, int index, int cols) {
+        int row = index / cols;
+        int column = index % cols;
+        return !board.isOpened(row, column) && !board.isMarked(row, column);
+    }
+}
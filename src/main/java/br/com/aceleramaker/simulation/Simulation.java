@@ -0,0 +1,225 @@
+package br.com.aceleramaker.simulation;
+
+import br.com.aceleramaker.model.Board;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Plays many games without a console to measure a {@link Strategy}.
+ * </p>
+ * The games are split in one shard per worker thread. Each shard has its
+ * own generator, split from a {@link SplittableRandom} built from the seed
+ * of the run, so the shards play the same games whatever the scheduling,
+ * and a run is repeated by running it again with the same seed and threads.
+ * A shard keeps a single board and strategy, restarting the board between
+ * games, and applies each move as a batch command so losses do not throw.
+ * <p>
+ * Statistics are added to shared counters after each game, so a run
+ * can report them while it is in progress.
+ * </p>
+ * A game ends when it is won, lost, or after a move per field and mark,
+ * which only a strategy going in circles reaches; such games count as lost.
+ * */
+public class Simulation {
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final Supplier<? extends Strategy> strategies;
+    private final int threads;
+
+    /**
+     * <p>
+     * Constructs a simulation.
+     * </p>
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * @param mines number of mines.
+     * @param strategies creates the strategy of each worker.
+     * @param threads number of worker threads, each playing a shard of the games.
+     * @throws IllegalArgumentException if the board is empty, the mines do not fit in it,
+     * or there are no threads.
+     * */
+    public Simulation(int rows, int cols, int mines, Supplier<? extends Strategy> strategies, int threads) {
+        if (rows < 1 || cols < 1 || mines < 0 || mines > rows * cols) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid number of mines. Board size is %dx%d", rows, cols)
+            );
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid simulation. It needs at least one thread");
+        }
+
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.strategies = strategies;
+        this.threads = threads;
+    }
+
+    /**
+     * <p>
+     * Plays the games.
+     * </p>
+     * @param games number of games to be played.
+     * @param seed seed of the games.
+     * @return statistics of the games.
+     * */
+    public SimulationResult run(long games, long seed) {
+        return run(games, seed, Duration.ZERO, progress -> { });
+    }
+
+    /**
+     * <p>
+     * Plays the games, reporting the statistics so far while they are played.
+     * </p>
+     * @param games number of games to be played.
+     * @param seed seed of the games.
+     * @param reportInterval time between reports, or zero for no reports.
+     * @param progress receives the reports, on the thread of the caller.
+     * @return statistics of the games.
+     * @throws IllegalStateException if interrupted while the games are played.
+     * */
+    public SimulationResult run(long games, long seed, Duration reportInterval, Consumer<SimulationResult> progress) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Totals totals = new Totals();
+        long start = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(
+                threads, Thread.ofPlatform().daemon().name("simulation-", 0).factory()
+        );
+        try {
+            List<Future<?>> shards = new ArrayList<>(threads);
+            for (int shard = 0; shard < threads; shard++) {
+                long shardGames = games / threads + (shard < games % threads ? 1 : 0);
+                SplittableRandom shardRandom = random.split();
+                shards.add(workers.submit(() -> play(shardGames, shardRandom, totals)));
+            }
+
+            for (Future<?> shard : shards) {
+                await(shard, reportInterval, () -> progress.accept(totals.result(System.nanoTime() - start)));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        return totals.result(System.nanoTime() - start);
+    }
+
+    /**
+     * <p>
+     * Plays a shard of the games on a single board.
+     * </p>
+     * */
+    private void play(long games, SplittableRandom random, Totals totals) {
+        Board board = new Board(rows, cols, mines, random.split());
+        Strategy strategy = strategies.get();
+
+        int[] command = new int[Board.COMMAND_SIZE];
+        int[] result = new int[1];
+        long maxMoves = 2L * rows * cols;
+
+        for (long game = 0; game < games && !Thread.currentThread().isInterrupted(); game++) {
+            if (game > 0) {
+                board.restartBoard();
+            }
+            strategy.newGame(board);
+
+            long moves = 0;
+            long openings = 0;
+            long revealed = 0;
+            int largestCascade = 0;
+            boolean won = false;
+
+            while (moves < maxMoves) {
+                strategy.nextMove(board, random, command);
+                board.applyCommands(command, result);
+                moves++;
+
+                if (result[0] == Board.EXPLODED) {
+                    break;
+                }
+                if (command[0] != Board.TOGGLE_MARK && result[0] > 0) {
+                    openings++;
+                    revealed += result[0];
+                    largestCascade = Math.max(largestCascade, result[0]);
+                }
+                if (board.remainingFields() == 0) {
+                    won = true;
+                    break;
+                }
+            }
+
+            totals.add(won, moves, openings, revealed, largestCascade);
+        }
+    }
+
+    private static void await(Future<?> shard, Duration reportInterval, Runnable report) {
+        try {
+            if (reportInterval.isZero() || reportInterval.isNegative()) {
+                shard.get();
+                return;
+            }
+            while (true) {
+                try {
+                    shard.get(reportInterval.toNanos(), TimeUnit.NANOSECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    report.run();
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating games", e);
+        }
+    }
+
+    /**
+     * <p>
+     * Statistics shared by the shards of a run.
+     * </p>
+     * */
+    private static class Totals {
+        private final LongAdder games = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder moves = new LongAdder();
+        private final LongAdder openings = new LongAdder();
+        private final LongAdder revealed = new LongAdder();
+        private final LongAccumulator largestCascade = new LongAccumulator(Math::max, 0L);
+
+        void add(boolean won, long moves, long openings, long revealed, int largestCascade) {
+            this.moves.add(moves);
+            this.openings.add(openings);
+            this.revealed.add(revealed);
+            this.largestCascade.accumulate(largestCascade);
+            if (won) {
+                wins.increment();
+            }
+            games.increment();
+        }
+
+        SimulationResult result(long nanos) {
+            return new SimulationResult(games.sum(), wins.sum(), moves.sum(), openings.sum(),
+                    revealed.sum(), largestCascade.get(), nanos);
+        }
+    }
+}
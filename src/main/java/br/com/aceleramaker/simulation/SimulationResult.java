@@ -0,0 +1,41 @@
+package br.com.aceleramaker.simulation;
+
+/**
+ * <p>
+ * Statistics of the games played by a {@link Simulation}.
+ * </p>
+ * @param games number of games finished.
+ * @param wins number of games won.
+ * @param moves number of moves played, in every game.
+ * @param openings number of moves that revealed safe fields.
+ * @param revealed number of safe fields revealed by those moves.
+ * @param largestCascade most fields revealed by a single move.
+ * @param nanos time taken to play the games, in nanoseconds.
+ * */
+public record SimulationResult(long games, long wins, long moves, long openings,
+                               long revealed, long largestCascade, long nanos) {
+
+    public double winRate() {
+        return games == 0 ? 0.0 : (double) wins / games;
+    }
+
+    public double movesPerGame() {
+        return games == 0 ? 0.0 : (double) moves / games;
+    }
+
+    public double averageCascade() {
+        return openings == 0 ? 0.0 : (double) revealed / openings;
+    }
+
+    public double gamesPerSecond() {
+        return nanos == 0 ? 0.0 : games / (nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "games: %,d, win rate: %.2f%%, moves/game: %.1f, cascade avg: %.1f max: %d, games/sec: %,.0f",
+                games, winRate() * 100, movesPerGame(), averageCascade(), largestCascade, gamesPerSecond()
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.aceleramaker.simulation;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.solver.ConstraintSolver;
+import br.com.aceleramaker.solver.Solution;
+
+import java.util.SplittableRandom;
+
+/**
+ * <p>
+ * Strategy playing the moves proved by a {@link ConstraintSolver}.
+ * </p>
+ * Every field proved safe is opened and every field proved mined is marked,
+ * one per move. The board is only solved again once those moves are played,
+ * and when nothing can be proved a random closed field is opened.
+ * */
+public class SolverStrategy implements Strategy {
+
+    private final ConstraintSolver solver = new ConstraintSolver();
+    private final RandomStrategy guesser = new RandomStrategy();
+
+    private Solution pending;
+    private int nextSafe;
+    private int nextMined;
+
+    @Override
+    public void newGame(Board board) {
+        pending = null;
+    }
+
+    @Override
+    public void nextMove(Board board, SplittableRandom random, int[] command) {
+        if (playPending(board, command)) {
+            return;
+        }
+
+        pending = solver.solve(board);
+        nextSafe = 0;
+        nextMined = 0;
+        if (playPending(board, command)) {
+            return;
+        }
+
+        pending = null;
+        guesser.nextMove(board, random, command);
+    }
+
+    /**
+     * <p>
+     * Writes the next move proved by the last solution.
+     * </p>
+     * @return false if there is no solution or every move of it was played.
+     * */
+    private boolean playPending(Board board, int[] command) {
+        if (pending == null) {
+            return false;
+        }
+        int cols = board.getCols();
+
+        int[] safe = pending.safeFields();
+        while (nextSafe < safe.length) {
+            int index = safe[nextSafe++];
+            // an earlier opening may have revealed it already
+            if (!board.isOpened(index / cols, index % cols)) {
+                write(command, Board.OPEN, index, cols);
+                return true;
+            }
+        }
+
+        int[] mined = pending.minedFields();
+        while (nextMined < mined.length) {
+            int index = mined[nextMined++];
+            if (!board.isMarked(index / cols, index % cols)) {
+                write(command, Board.TOGGLE_MARK, index, cols);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void write(int[] command, int action, int index, int cols) {
+        command[0] = action;
+        command[1] = index / cols;
+        command[2] = index % cols;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.aceleramaker.simulation;
+
+import br.com.aceleramaker.model.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * <p>
+ * Chooses the moves of a simulated player, see {@link Simulation}.
+ * </p>
+ * Each worker of a simulation has its own strategy, so a strategy may keep
+ * state between moves and is never called by two threads at once.
+ * */
+@FunctionalInterface
+public interface Strategy {
+
+    /**
+     * Chooses the next move of a game in progress.
+     *
+     * @param board the board being played.
+     * @param random generator of the worker, for strategies that guess.
+     * @param command receives the move as a batch command of {@link Board#COMMAND_SIZE} ints:
+     *                {@link Board#OPEN}, {@link Board#TOGGLE_MARK} or {@link Board#CHORD},
+     *                the row and the column.
+     * */
+    void nextMove(Board board, SplittableRandom random, int[] command);
+
+    /**
+     * Called before each game, with every field of the board closed.
+     *
+     * @param board the board about to be played.
+     * */
+    default void newGame(Board board) {
+    }
+}
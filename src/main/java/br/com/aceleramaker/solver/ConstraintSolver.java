@@ -0,0 +1,401 @@
+package br.com.aceleramaker.solver;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.Neighbors;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Finds the fields that are certainly safe or certainly mined on a board.
+ * </p>
+ * Reads only what a player sees: which fields are opened or marked, and the
+ * number shown on each opened field. Every opened field with closed neighbors
+ * is a constraint: its closed, unmarked neighbors hold exactly its number
+ * minus its marked neighbors. Marked fields are trusted as mines, as a bot
+ * only marks fields proven mined.
+ * <p>
+ * Two rules are applied until nothing else can be proved:
+ * </p>
+ * <ul>
+ *     <li>single point: a constraint with no mines left has only safe fields,
+ *     and one with as many mines as fields has only mined fields;</li>
+ *     <li>subset: when the fields of a constraint are all in another one,
+ *     the fields only in the other one hold the difference of their mines.</li>
+ * </ul>
+ * The fields of a constraint are a mask of 8 bits, one per neighbor. Two
+ * constraints sharing fields are at most 2 rows and columns apart, so their
+ * masks are compared as bits of a 7x7 window around one of them, a single
+ * long, where subsets and differences are plain bit operations.
+ * <p>
+ * Work is proportional to the frontier, after one scan of the board.
+ * A solver reuses its buffers between calls and must not be shared by threads.
+ * </p>
+ * */
+public class ConstraintSolver {
+
+    private static final int WINDOW = 7;
+    private static final int WINDOW_CENTER = WINDOW / 2;
+
+    /**
+     * Bits of the 7x7 window around a field for each mask of its neighbors.
+     * */
+    private static final long[] WINDOW_MASKS = new long[1 << 8];
+
+    /**
+     * Neighbor bit for each position of the 3x3 square around a field.
+     * */
+    private static final int[] NEIGHBOR_BITS = new int[9];
+
+    static {
+        for (int mask = 0; mask < WINDOW_MASKS.length; mask++) {
+            for (int i = 0; i < Neighbors.COUNT; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    WINDOW_MASKS[mask] |= 1L << windowPosition(Neighbors.rowOffset(i), Neighbors.colOffset(i));
+                }
+            }
+        }
+        for (int i = 0; i < Neighbors.COUNT; i++) {
+            NEIGHBOR_BITS[(Neighbors.rowOffset(i) + 1) * 3 + Neighbors.colOffset(i) + 1] = 1 << i;
+        }
+    }
+
+    private int rows;
+    private int cols;
+
+    // constraints, by id
+    private int constraints;
+    private int[] centers = new int[64];
+    private int[] masks = new int[64];
+    private int[] required = new int[64];
+
+    // constraints are read row by row, so the id of a constraint is the
+    // number of centers before it: a bitset of centers and a count per word
+    private long[] centerPlane = new long[1];
+    private int[] centerRanks = new int[1];
+
+    // single point rules are cheap, so the subset rule waits until they are done
+    private final WorkQueue pointQueue = new WorkQueue();
+    private final WorkQueue subsetQueue = new WorkQueue();
+
+    private int[] safeFields = new int[64];
+    private int safeCount;
+    private int[] minedFields = new int[64];
+    private int minedCount;
+
+    /**
+     * <p>
+     * Finds the fields of a board that can be proved safe or mined.
+     * </p>
+     * @param board the board to be read, which is not changed.
+     * @return the fields proved safe and mined.
+     * */
+    public Solution solve(Board board) {
+        rows = board.getRows();
+        cols = board.getCols();
+        constraints = 0;
+        safeCount = 0;
+        minedCount = 0;
+
+        int words = (rows * cols + 63) >>> 6;
+        if (centerPlane.length < words) {
+            centerPlane = new long[words];
+            centerRanks = new int[words];
+        } else {
+            Arrays.fill(centerPlane, 0, words, 0L);
+        }
+
+        readConstraints(board);
+        indexConstraints();
+
+        pointQueue.reset(constraints);
+        subsetQueue.reset(constraints);
+        for (int id = 0; id < constraints; id++) {
+            pointQueue.add(id);
+        }
+
+        while (true) {
+            while (!pointQueue.isEmpty()) {
+                int id = pointQueue.poll();
+                if (!applySinglePoint(id)) {
+                    subsetQueue.add(id);
+                }
+            }
+            if (subsetQueue.isEmpty()) {
+                break;
+            }
+            applySubset(subsetQueue.poll());
+        }
+
+        return new Solution(
+                Arrays.copyOf(safeFields, safeCount),
+                Arrays.copyOf(minedFields, minedCount)
+        );
+    }
+
+    /**
+     * <p>
+     * Builds a constraint for each opened field with closed neighbors.
+     * </p>
+     * */
+    private void readConstraints(Board board) {
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < cols; column++) {
+                int mines = board.getNeighborhoodMines(row, column);
+                if (mines <= 0) {
+                    continue;
+                }
+
+                int mask = 0;
+                for (int i = 0; i < Neighbors.COUNT; i++) {
+                    int r = row + Neighbors.rowOffset(i);
+                    int c = column + Neighbors.colOffset(i);
+
+                    if (r < 0 || r >= rows || c < 0 || c >= cols || board.isOpened(r, c)) {
+                        continue;
+                    }
+                    if (board.isMarked(r, c)) {
+                        mines--;
+                    } else {
+                        mask |= 1 << i;
+                    }
+                }
+
+                if (mask != 0) {
+                    addConstraint(row * cols + column, mask, mines);
+                }
+            }
+        }
+    }
+
+    private void addConstraint(int center, int mask, int mines) {
+        if (constraints == centers.length) {
+            int length = constraints << 1;
+            centers = Arrays.copyOf(centers, length);
+            masks = Arrays.copyOf(masks, length);
+            required = Arrays.copyOf(required, length);
+        }
+        centerPlane[center >>> 6] |= 1L << center;
+        centers[constraints] = center;
+        masks[constraints] = mask;
+        required[constraints] = mines;
+        constraints++;
+    }
+
+    private void indexConstraints() {
+        int words = (rows * cols + 63) >>> 6;
+        int rank = 0;
+        for (int word = 0; word < words; word++) {
+            centerRanks[word] = rank;
+            rank += Long.bitCount(centerPlane[word]);
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the id of the constraint of a field.
+     * </p>
+     * @return the id, or -1 if the field has no constraint.
+     * */
+    private int constraintAt(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= cols) {
+            return -1;
+        }
+
+        int center = row * cols + column;
+        long word = centerPlane[center >>> 6];
+        long bit = 1L << center;
+        if ((word & bit) == 0) {
+            return -1;
+        }
+        return centerRanks[center >>> 6] + Long.bitCount(word & (bit - 1));
+    }
+
+    /**
+     * <p>
+     * Applies the single point rule to a constraint.
+     * </p>
+     * Fields proved safe or mined are removed from every constraint around
+     * them, and those constraints are queued to be applied again.
+     *
+     * @return false if the constraint is still undecided.
+     * */
+    private boolean applySinglePoint(int id) {
+        int mask = masks[id];
+        int mines = required[id];
+        int unknown = Integer.bitCount(mask);
+
+        // the marks around the field contradict its number
+        if (mask == 0 || mines < 0 || mines > unknown) {
+            return true;
+        }
+        if (mines != 0 && mines != unknown) {
+            return false;
+        }
+
+        int row = centers[id] / cols;
+        assign(WINDOW_MASKS[mask], row, centers[id] - row * cols, mines > 0);
+        return true;
+    }
+
+    /**
+     * <p>
+     * Applies the subset rule to a constraint and the constraints around it.
+     * </p>
+     * */
+    private void applySubset(int id) {
+        int mines = required[id];
+        long window = WINDOW_MASKS[masks[id]];
+        int row = centers[id] / cols;
+        int column = centers[id] - row * cols;
+
+        for (int dr = -2; dr <= 2; dr++) {
+            for (int dc = -2; dc <= 2; dc++) {
+                int other = constraintAt(row + dr, column + dc);
+                if (other == -1 || other == id || masks[other] == 0) {
+                    continue;
+                }
+
+                int shift = dr * WINDOW + dc;
+                long otherWindow = shift >= 0
+                        ? WINDOW_MASKS[masks[other]] << shift
+                        : WINDOW_MASKS[masks[other]] >>> -shift;
+
+                if (window == otherWindow || (window & otherWindow) == 0) {
+                    continue;
+                }
+
+                boolean proved = false;
+                if ((window & ~otherWindow) == 0) {
+                    proved = assignDifference(otherWindow & ~window, required[other] - mines, row, column);
+                } else if ((otherWindow & ~window) == 0) {
+                    proved = assignDifference(window & ~otherWindow, mines - required[other], row, column);
+                }
+
+                if (proved) {
+                    // this constraint may have changed, apply it again later
+                    pointQueue.add(id);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Assigns the fields of a difference of constraints, if it proves them.
+     * </p>
+     * @return true if the fields were proved safe or mined.
+     * */
+    private boolean assignDifference(long window, int mines, int row, int column) {
+        if (mines == 0 || mines == Long.bitCount(window)) {
+            assign(window, row, column, mines > 0);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * <p>
+     * Records the fields of a window as safe or mined.
+     * </p>
+     * @param window bits of the 7x7 window around the given field.
+     * */
+    private void assign(long window, int row, int column, boolean mined) {
+        while (window != 0) {
+            int position = Long.numberOfTrailingZeros(window);
+            window &= window - 1;
+
+            int r = row + position / WINDOW - WINDOW_CENTER;
+            int c = column + position % WINDOW - WINDOW_CENTER;
+            assign(r, c, mined);
+        }
+    }
+
+    private void assign(int row, int column, boolean mined) {
+        int index = row * cols + column;
+        if (mined) {
+            if (minedCount == minedFields.length) {
+                minedFields = Arrays.copyOf(minedFields, minedCount << 1);
+            }
+            minedFields[minedCount++] = index;
+        } else {
+            if (safeCount == safeFields.length) {
+                safeFields = Arrays.copyOf(safeFields, safeCount << 1);
+            }
+            safeFields[safeCount++] = index;
+        }
+
+        // the field is a neighbor of the constraints around it
+        for (int i = 0; i < Neighbors.COUNT; i++) {
+            int id = constraintAt(row + Neighbors.rowOffset(i), column + Neighbors.colOffset(i));
+            if (id == -1) {
+                continue;
+            }
+
+            int bit = NEIGHBOR_BITS[(1 - Neighbors.rowOffset(i)) * 3 + 1 - Neighbors.colOffset(i)];
+            if ((masks[id] & bit) != 0) {
+                masks[id] &= ~bit;
+                if (mined) {
+                    required[id]--;
+                }
+                pointQueue.add(id);
+            }
+        }
+    }
+
+    private static int windowPosition(int rowOffset, int colOffset) {
+        return (rowOffset + WINDOW_CENTER) * WINDOW + colOffset + WINDOW_CENTER;
+    }
+
+    /**
+     * <p>
+     * A queue of constraint ids holding each id at most once.
+     * </p>
+     * */
+    private static class WorkQueue {
+
+        private int[] ids = new int[64];
+        private long[] queued = new long[1];
+        private int head;
+        private int size;
+
+        void reset(int capacity) {
+            if (ids.length < capacity) {
+                ids = new int[capacity];
+            }
+            int words = (capacity + 63) >>> 6;
+            if (queued.length < words) {
+                queued = new long[words];
+            } else {
+                Arrays.fill(queued, 0L);
+            }
+            head = 0;
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int id) {
+            long bit = 1L << id;
+            if ((queued[id >>> 6] & bit) != 0) {
+                return;
+            }
+            queued[id >>> 6] |= bit;
+
+            int tail = head + size;
+            ids[tail >= ids.length ? tail - ids.length : tail] = id;
+            size++;
+        }
+
+        int poll() {
+            int id = ids[head];
+            head = head + 1 == ids.length ? 0 : head + 1;
+            size--;
+            queued[id >>> 6] &= ~(1L << id);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.aceleramaker.solver;
+
+import br.com.aceleramaker.model.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Generates boards that can be won from a first click without guessing.
+ * </p>
+ * Candidate boards are built with no mines around the first click, see
+ * {@link Board#withSafeStart(int, int, int, long, int, int)}, and played
+ * with a {@link ConstraintSolver}: opening every field proved safe and
+ * marking every field proved mined. A candidate passes when it is won
+ * this way, and is rejected as soon as nothing else can be proved.
+ * <p>
+ * Every worker thread of the generator tries its own candidates, and the
+ * first one to pass stops the others. Candidates are numbered from a random
+ * base seed, so the board returned depends on which worker finishes first,
+ * and can be built again from its seed and first click.
+ * </p>
+ * The share of boards without guesses drops quickly with size and density,
+ * so the search gives up after a maximum number of candidates.
+ * */
+public class NoGuessGenerator implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 100_000;
+
+    private final ExecutorService workers;
+    private final int threads;
+    private final int maxAttempts;
+
+    /**
+     * <p>
+     * Constructs a generator with a worker per processor.
+     * </p>
+     * */
+    public NoGuessGenerator() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * <p>
+     * Constructs a generator.
+     * </p>
+     * @param threads number of worker threads.
+     * @param maxAttempts number of candidates tried before giving up.
+     * @throws IllegalArgumentException if there are no threads or attempts.
+     * */
+    public NoGuessGenerator(int threads, int maxAttempts) {
+        if (threads < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Invalid generator. It needs at least one thread and attempt");
+        }
+
+        this.threads = threads;
+        this.maxAttempts = maxAttempts;
+        this.workers = Executors.newFixedThreadPool(
+                threads, Thread.ofPlatform().daemon().name("board-generator-", 0).factory()
+        );
+    }
+
+    /**
+     * <p>
+     * Generates a board that can be won from the given first click without guessing.
+     * </p>
+     * @param rows number of rows.
+     * @param cols number of columns.
+     * @param mines number of mines.
+     * @param row number of the row of the first click.
+     * @param column number of the column of the first click.
+     * @return a new board, with every field closed.
+     * @throws IllegalArgumentException if the mines or the position do not fit in the board.
+     * @throws IllegalStateException if no candidate passed within the maximum attempts.
+     * */
+    public Board generate(int rows, int cols, int mines, int row, int column) {
+        long baseSeed = ThreadLocalRandom.current().nextLong();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean found = new AtomicBoolean();
+
+        List<Callable<Long>> searches = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            searches.add(() -> search(rows, cols, mines, row, column, baseSeed, attempts, found));
+        }
+
+        try {
+            long seed = workers.invokeAny(searches);
+            return Board.withSafeStart(rows, cols, mines, seed, row, column);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating a board", e);
+        }
+    }
+
+    /**
+     * <p>
+     * Verifies if a board can be won from a first click without guessing.
+     * </p>
+     * The board is played to find out, so it is changed.
+     *
+     * @param board the board to be played.
+     * @param row number of the row of the first click.
+     * @param column number of the column of the first click.
+     * @return true if the board was won.
+     * @throws br.com.aceleramaker.exception.ExplosionException if the first click is mined.
+     * */
+    public static boolean isSolvable(Board board, int row, int column) {
+        return play(board, row, column, new ConstraintSolver(), new AtomicBoolean());
+    }
+
+    /**
+     * <p>
+     * Tries candidates until one passes, another worker finds one, or the attempts run out.
+     * </p>
+     * @return the seed of the candidate that passed.
+     * */
+    private long search(int rows, int cols, int mines, int row, int column,
+                        long baseSeed, AtomicInteger attempts, AtomicBoolean found) {
+        ConstraintSolver solver = new ConstraintSolver();
+
+        while (!found.get() && !Thread.currentThread().isInterrupted()) {
+            int attempt = attempts.getAndIncrement();
+            if (attempt >= maxAttempts) {
+                throw new IllegalStateException(
+                        String.format("No board without guesses found in %d attempts", maxAttempts)
+                );
+            }
+
+            long seed = baseSeed + attempt;
+            Board candidate = Board.withSafeStart(rows, cols, mines, seed, row, column);
+            if (play(candidate, row, column, solver, found) && found.compareAndSet(false, true)) {
+                return seed;
+            }
+        }
+        throw new CancellationException("Another worker found a board");
+    }
+
+    private static boolean play(Board board, int row, int column, ConstraintSolver solver, AtomicBoolean cancelled) {
+        int cols = board.getCols();
+        board.openField(row, column);
+
+        while (!board.goalAchieved()) {
+            Solution solution = solver.solve(board);
+            if (solution.isEmpty() || cancelled.get()) {
+                return false;
+            }
+
+            for (int index : solution.safeFields()) {
+                board.openField(index / cols, index % cols);
+            }
+            for (int index : solution.minedFields()) {
+                board.toggleMark(index / cols, index % cols);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>
+     * Stops the worker threads.
+     * </p>
+     * */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,756 @@
+package br.com.aceleramaker.solver;
+
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.Neighbors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>
+ * Computes the probability of each field of a board being mined.
+ * </p>
+ * Reads only what a player sees, as {@link ConstraintSolver} does, and
+ * trusts marked fields as mines. Closed fields next to an opened number are
+ * the frontier. The frontier is split in components, fields linked by the
+ * numbers they share, which are independent of each other: for each one,
+ * every mine configuration satisfying its numbers is enumerated, counting
+ * the configurations by number of mines.
+ * <p>
+ * The closed fields away from the frontier hold the remaining mines, so a
+ * configuration with k mines on the frontier stands for
+ * C(fields away, remaining mines - k) boards. The components are weighted
+ * against each other and against the fields away with this count.
+ * </p>
+ * Components are enumerated in parallel on a ForkJoinPool, and large ones
+ * are split further by fixing their first fields. A branch is cut as soon as
+ * a number has too many mines or too few fields left. Components with the
+ * same shape, common on big boards, are enumerated once and kept in a cache.
+ * <p>
+ * Enumeration is exponential in the size of the largest component,
+ * running a ConstraintSolver first and opening what it proves keeps
+ * components small. Components larger than the maximum size are not
+ * enumerated: the fields a {@link ConstraintSolver} proves get 0 or 1,
+ * and the others are counted with the fields away from the frontier,
+ * so their probabilities are an estimate.
+ * </p>
+ * */
+public class ProbabilitySolver {
+
+    private static final int MAX_CACHED_SHAPES = 4096;
+    private static final int DEFAULT_MAX_COMPONENT_SIZE = 36;
+    private static final byte PROVEN_SAFE = 1;
+    private static final byte PROVEN_MINED = 2;
+
+    private final Board board;
+    private final ForkJoinPool pool;
+    private final int maxComponentSize;
+    private final Map<Shape, Counts> cache = new ConcurrentHashMap<>();
+
+    /**
+     * <p>
+     * Constructs a solver for a board, running on the common pool.
+     * </p>
+     * @param board the board to be read, which is not changed.
+     * */
+    public ProbabilitySolver(Board board) {
+        this(board, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <p>
+     * Constructs a solver for a board.
+     * </p>
+     * @param board the board to be read, which is not changed.
+     * @param pool the pool running the enumeration.
+     * */
+    public ProbabilitySolver(Board board, ForkJoinPool pool) {
+        this(board, pool, DEFAULT_MAX_COMPONENT_SIZE);
+    }
+
+    /**
+     * <p>
+     * Constructs a solver for a board, with a limit on the enumeration.
+     * </p>
+     * @param board the board to be read, which is not changed.
+     * @param pool the pool running the enumeration.
+     * @param maxComponentSize number of fields of the largest component enumerated.
+     * @throws IllegalArgumentException if the maximum size is negative.
+     * */
+    public ProbabilitySolver(Board board, ForkJoinPool pool, int maxComponentSize) {
+        if (maxComponentSize < 0) {
+            throw new IllegalArgumentException("Invalid maximum component size. It must not be negative");
+        }
+
+        this.board = board;
+        this.pool = pool;
+        this.maxComponentSize = maxComponentSize;
+    }
+
+    /**
+     * <p>
+     * Computes the probability of each field being mined.
+     * </p>
+     * Every valid placement of the remaining mines is equally likely.
+     * Opened fields have probability 0 and marked fields 1. Fields of
+     * components above the maximum size are estimated, see the class comment.
+     *
+     * @return the probabilities, row by row, at {@code row * cols + column}.
+     * @throws IllegalStateException if no placement of the mines matches the board,
+     * e.g. a safe field was marked.
+     * */
+    public double[] mineProbabilities() {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        double[] probabilities = new double[rows * cols];
+
+        Frontier frontier = readFrontier(rows, cols, probabilities);
+        List<Component> components = new ArrayList<>();
+        List<Component> oversized = new ArrayList<>();
+        for (Component component : frontier.components()) {
+            (component.size() <= maxComponentSize ? components : oversized).add(component);
+        }
+
+        List<ForkJoinTask<Counts>> tasks = new ArrayList<>(components.size());
+        for (Component component : components) {
+            tasks.add(pool.submit(() -> enumerate(component)));
+        }
+        Counts[] counts = new Counts[components.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = tasks.get(i).join();
+        }
+
+        int remainingMines = board.getMines() - frontier.markedFields;
+        int awayFields = frontier.closedFields - frontier.variables;
+
+        // fields of oversized components not proven by the constraints join the fields away
+        int[] estimated = new int[0];
+        int estimatedCount = 0;
+        if (!oversized.isEmpty()) {
+            Solution solution = new ConstraintSolver().solve(board);
+            byte[] proven = new byte[rows * cols];
+            for (int index : solution.safeFields()) {
+                proven[index] = PROVEN_SAFE;
+            }
+            for (int index : solution.minedFields()) {
+                proven[index] = PROVEN_MINED;
+            }
+
+            estimated = new int[oversized.stream().mapToInt(Component::size).sum()];
+            for (Component component : oversized) {
+                for (int field : component.fields) {
+                    if (proven[field] == PROVEN_MINED) {
+                        probabilities[field] = 1;
+                        remainingMines--;
+                    } else if (proven[field] != PROVEN_SAFE) {
+                        estimated[estimatedCount++] = field;
+                    }
+                }
+            }
+            awayFields += estimatedCount;
+        }
+        double[] awayWeights = binomialWeights(awayFields, remainingMines);
+
+        // weights of the mines on the components before and after each one
+        double[][] before = new double[counts.length + 1][];
+        double[][] after = new double[counts.length + 1][];
+        before[0] = new double[] {1};
+        after[counts.length] = new double[] {1};
+        for (int i = 0; i < counts.length; i++) {
+            before[i + 1] = convolve(before[i], counts[i].solutions, remainingMines);
+        }
+        for (int i = counts.length - 1; i >= 0; i--) {
+            after[i] = convolve(counts[i].solutions, after[i + 1], remainingMines);
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            double[] others = convolve(before[i], after[i + 1], remainingMines);
+            assignComponent(components.get(i), counts[i], others, awayWeights, remainingMines, probabilities);
+        }
+
+        double[] all = before[counts.length];
+        double total = 0;
+        double awayMines = 0;
+        for (int mines = 0; mines < all.length; mines++) {
+            double weight = all[mines] * weight(awayWeights, remainingMines - mines);
+            total += weight;
+            awayMines += weight * (remainingMines - mines);
+        }
+        checkConsistent(total);
+
+        if (awayFields > 0) {
+            double probability = awayMines / total / awayFields;
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < cols; column++) {
+                    int index = row * cols + column;
+                    if (frontier.variableOf[index] == -1
+                            && !board.isOpened(row, column) && !board.isMarked(row, column)) {
+                        probabilities[index] = probability;
+                    }
+                }
+            }
+            for (int i = 0; i < estimatedCount; i++) {
+                probabilities[estimated[i]] = probability;
+            }
+        }
+
+        if (cache.size() > MAX_CACHED_SHAPES) {
+            cache.clear();
+        }
+        return probabilities;
+    }
+
+    /**
+     * <p>
+     * Reads the closed fields and the numbers around them.
+     * </p>
+     * Opened fields are left at 0 and marked fields are set to 1.
+     * */
+    private Frontier readFrontier(int rows, int cols, double[] probabilities) {
+        Frontier frontier = new Frontier(rows * cols);
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < cols; column++) {
+                int index = row * cols + column;
+
+                if (board.isMarked(row, column)) {
+                    probabilities[index] = 1;
+                    frontier.markedFields++;
+                    continue;
+                }
+                if (!board.isOpened(row, column)) {
+                    frontier.closedFields++;
+                    continue;
+                }
+
+                int mines = board.getNeighborhoodMines(row, column);
+                if (mines <= 0) {
+                    continue;
+                }
+
+                int[] fields = new int[Neighbors.COUNT];
+                int count = Neighbors.of(rows, cols, row, column, fields);
+                int size = 0;
+                for (int i = 0; i < count; i++) {
+                    int r = fields[i] / cols;
+                    int c = fields[i] % cols;
+
+                    if (board.isOpened(r, c)) {
+                        continue;
+                    }
+                    if (board.isMarked(r, c)) {
+                        mines--;
+                    } else {
+                        fields[size++] = fields[i];
+                    }
+                }
+
+                if (size > 0) {
+                    frontier.addConstraint(mines, Arrays.copyOf(fields, size));
+                } else if (mines != 0) {
+                    checkConsistent(0);
+                }
+            }
+        }
+        return frontier;
+    }
+
+    /**
+     * <p>
+     * Counts the configurations of a component, from the cache if possible.
+     * </p>
+     * */
+    private Counts enumerate(Component component) {
+        Shape shape = component.shape();
+        Counts cached = cache.get(shape);
+        if (cached != null) {
+            return cached;
+        }
+
+        Counts counts = new Enumeration(component, 0, new byte[component.size()],
+                new int[component.required.length], component.initialUnknown()).invoke();
+        counts.normalize();
+        cache.put(shape, counts);
+        return counts;
+    }
+
+    /**
+     * <p>
+     * Sets the probability of each field of a component.
+     * </p>
+     * @param others weights of the mines on every other component.
+     * */
+    private static void assignComponent(Component component, Counts counts, double[] others,
+                                        double[] awayWeights, int remainingMines, double[] probabilities) {
+        int size = component.size();
+        double[] weights = new double[size + 1];
+        double total = 0;
+
+        for (int mines = 0; mines <= size; mines++) {
+            for (int otherMines = 0; otherMines < others.length; otherMines++) {
+                weights[mines] += others[otherMines] * weight(awayWeights, remainingMines - mines - otherMines);
+            }
+            total += counts.solutions[mines] * weights[mines];
+        }
+        checkConsistent(total);
+
+        for (int variable = 0; variable < size; variable++) {
+            double mined = 0;
+            for (int mines = 1; mines <= size; mines++) {
+                mined += counts.mined[variable * (size + 1) + mines] * weights[mines];
+            }
+            probabilities[component.fields[variable]] = mined / total;
+        }
+    }
+
+    private static void checkConsistent(double total) {
+        if (!(total > 0)) {
+            throw new IllegalStateException("No placement of the mines matches the board");
+        }
+    }
+
+    /**
+     * <p>
+     * Computes C(fields, mines) for every number of mines, scaled so the largest is 1.
+     * </p>
+     * */
+    private static double[] binomialWeights(int fields, int maxMines) {
+        int length = Math.max(Math.min(fields, maxMines), -1) + 1;
+        double[] logs = new double[length];
+        double largest = 0;
+
+        for (int mines = 1; mines < length; mines++) {
+            logs[mines] = logs[mines - 1] + Math.log(fields - mines + 1) - Math.log(mines);
+            largest = Math.max(largest, logs[mines]);
+        }
+        double[] weights = new double[length];
+        for (int mines = 0; mines < length; mines++) {
+            weights[mines] = Math.exp(logs[mines] - largest);
+        }
+        return weights;
+    }
+
+    private static double weight(double[] weights, int mines) {
+        return mines >= 0 && mines < weights.length ? weights[mines] : 0;
+    }
+
+    /**
+     * <p>
+     * Combines the weights of two independent groups of fields by total mines.
+     * </p>
+     * The result is scaled so its largest weight is 1, which keeps products
+     * of many components in range without changing their proportions.
+     * */
+    private static double[] convolve(double[] first, double[] second, int maxMines) {
+        int length = Math.min(first.length + second.length - 1, Math.max(maxMines, 0) + 1);
+        double[] result = new double[length];
+
+        for (int i = 0; i < first.length && i < length; i++) {
+            if (first[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < second.length && i + j < length; j++) {
+                result[i + j] += first[i] * second[j];
+            }
+        }
+        return scale(result);
+    }
+
+    private static double[] scale(double[] weights) {
+        double largest = 0;
+        for (double weight : weights) {
+            largest = Math.max(largest, weight);
+        }
+        if (largest > 0) {
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] /= largest;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * <p>
+     * The closed fields of a board and the numbers constraining them.
+     * </p>
+     * */
+    private static class Frontier {
+
+        private final int[] variableOf;
+        private final List<int[]> constraintFields = new ArrayList<>();
+        private final List<Integer> constraintMines = new ArrayList<>();
+        private int[] fieldOf = new int[64];
+        private int variables;
+        private int closedFields;
+        private int markedFields;
+
+        Frontier(int fields) {
+            variableOf = new int[fields];
+            Arrays.fill(variableOf, -1);
+        }
+
+        void addConstraint(int mines, int[] fields) {
+            for (int field : fields) {
+                if (variableOf[field] == -1) {
+                    if (variables == fieldOf.length) {
+                        fieldOf = Arrays.copyOf(fieldOf, variables << 1);
+                    }
+                    fieldOf[variables] = field;
+                    variableOf[field] = variables++;
+                }
+            }
+            constraintFields.add(fields);
+            constraintMines.add(mines);
+        }
+
+        /**
+         * <p>
+         * Splits the frontier in groups of fields linked by shared numbers.
+         * </p>
+         * */
+        List<Component> components() {
+            int[] parents = new int[variables];
+            for (int i = 0; i < variables; i++) {
+                parents[i] = i;
+            }
+            for (int[] fields : constraintFields) {
+                for (int i = 1; i < fields.length; i++) {
+                    union(parents, variableOf[fields[0]], variableOf[fields[i]]);
+                }
+            }
+
+            // fields sorted by index, so components of the same shape match
+            int[] rootComponent = new int[variables];
+            Arrays.fill(rootComponent, -1);
+            List<List<Integer>> componentFields = new ArrayList<>();
+            List<List<Integer>> componentConstraints = new ArrayList<>();
+
+            int[] sortedFields = Arrays.copyOf(fieldOf, variables);
+            Arrays.sort(sortedFields);
+            for (int field : sortedFields) {
+                int root = find(parents, variableOf[field]);
+                if (rootComponent[root] == -1) {
+                    rootComponent[root] = componentFields.size();
+                    componentFields.add(new ArrayList<>());
+                    componentConstraints.add(new ArrayList<>());
+                }
+                componentFields.get(rootComponent[root]).add(field);
+            }
+            for (int constraint = 0; constraint < constraintFields.size(); constraint++) {
+                int root = find(parents, variableOf[constraintFields.get(constraint)[0]]);
+                componentConstraints.get(rootComponent[root]).add(constraint);
+            }
+
+            List<Component> components = new ArrayList<>(componentFields.size());
+            for (int i = 0; i < componentFields.size(); i++) {
+                components.add(component(componentFields.get(i), componentConstraints.get(i)));
+            }
+            return components;
+        }
+
+        private Component component(List<Integer> fields, List<Integer> constraints) {
+            int[] componentFields = fields.stream().mapToInt(Integer::intValue).toArray();
+            int[] required = new int[constraints.size()];
+            int[][] constraintVariables = new int[constraints.size()][];
+
+            for (int i = 0; i < constraints.size(); i++) {
+                int constraint = constraints.get(i);
+                required[i] = constraintMines.get(constraint);
+
+                int[] constraintFields = this.constraintFields.get(constraint);
+                constraintVariables[i] = new int[constraintFields.length];
+                for (int j = 0; j < constraintFields.length; j++) {
+                    constraintVariables[i][j] = Arrays.binarySearch(componentFields, constraintFields[j]);
+                }
+            }
+            return new Component(componentFields, required, constraintVariables);
+        }
+
+        private static int find(int[] parents, int variable) {
+            while (parents[variable] != variable) {
+                parents[variable] = parents[parents[variable]];
+                variable = parents[variable];
+            }
+            return variable;
+        }
+
+        private static void union(int[] parents, int first, int second) {
+            parents[find(parents, first)] = find(parents, second);
+        }
+    }
+
+    /**
+     * <p>
+     * A group of frontier fields and the numbers around them.
+     * </p>
+     * Fields are numbered inside the component, in board order.
+     * */
+    private static class Component {
+
+        private final int[] fields;
+        private final int[] required;
+        private final int[][] constraintVariables;
+        private final int[][] variableConstraints;
+
+        Component(int[] fields, int[] required, int[][] constraintVariables) {
+            this.fields = fields;
+            this.required = required;
+            this.constraintVariables = constraintVariables;
+
+            int[] sizes = new int[fields.length];
+            for (int[] variables : constraintVariables) {
+                for (int variable : variables) {
+                    sizes[variable]++;
+                }
+            }
+            this.variableConstraints = new int[fields.length][];
+            for (int variable = 0; variable < fields.length; variable++) {
+                variableConstraints[variable] = new int[sizes[variable]];
+                sizes[variable] = 0;
+            }
+            for (int constraint = 0; constraint < constraintVariables.length; constraint++) {
+                for (int variable : constraintVariables[constraint]) {
+                    variableConstraints[variable][sizes[variable]++] = constraint;
+                }
+            }
+        }
+
+        int size() {
+            return fields.length;
+        }
+
+        int[] initialUnknown() {
+            int[] unknown = new int[required.length];
+            for (int constraint = 0; constraint < required.length; constraint++) {
+                unknown[constraint] = constraintVariables[constraint].length;
+            }
+            return unknown;
+        }
+
+        /**
+         * <p>
+         * Describes the component without its position on the board.
+         * </p>
+         * */
+        Shape shape() {
+            int length = 2;
+            for (int[] variables : constraintVariables) {
+                length += 2 + variables.length;
+            }
+
+            int[] encoded = new int[length];
+            int position = 0;
+            encoded[position++] = fields.length;
+            encoded[position++] = required.length;
+            for (int constraint = 0; constraint < required.length; constraint++) {
+                encoded[position++] = required[constraint];
+                encoded[position++] = constraintVariables[constraint].length;
+                for (int variable : constraintVariables[constraint]) {
+                    encoded[position++] = variable;
+                }
+            }
+            return new Shape(encoded);
+        }
+    }
+
+    /**
+     * <p>
+     * A component shape, used as cache key.
+     * </p>
+     * */
+    private record Shape(int[] encoded) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Shape shape && Arrays.equals(encoded, shape.encoded);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(encoded);
+        }
+    }
+
+    /**
+     * <p>
+     * Configurations of a component by number of mines.
+     * </p>
+     * {@code mined[variable * (size + 1) + mines]} counts the configurations
+     * with that many mines where the variable is mined.
+     * */
+    private static class Counts {
+
+        private final double[] solutions;
+        private final double[] mined;
+
+        Counts(int size) {
+            solutions = new double[size + 1];
+            mined = new double[size * (size + 1)];
+        }
+
+        void add(Counts other) {
+            for (int i = 0; i < solutions.length; i++) {
+                solutions[i] += other.solutions[i];
+            }
+            for (int i = 0; i < mined.length; i++) {
+                mined[i] += other.mined[i];
+            }
+        }
+
+        /**
+         * Scales the counts so the largest is 1, keeping their proportions.
+         * */
+        void normalize() {
+            double largest = 0;
+            for (double count : solutions) {
+                largest = Math.max(largest, count);
+            }
+            if (largest > 0) {
+                for (int i = 0; i < solutions.length; i++) {
+                    solutions[i] /= largest;
+                }
+                for (int i = 0; i < mined.length; i++) {
+                    mined[i] /= largest;
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Enumerates the configurations of a component from a partial assignment.
+     * </p>
+     * Variables are assigned in board order. While many variables are left,
+     * both values of the next one are forked as separate tasks.
+     * Tasks only live in the pool and are never serialized.
+     * */
+    @SuppressWarnings("serial")
+    private static class Enumeration extends RecursiveTask<Counts> {
+
+        private static final int FORK_THRESHOLD = 24;
+        private static final int MAX_FORK_DEPTH = 8;
+
+        private final Component component;
+        private final int depth;
+        private final byte[] assignment;
+        private final int[] mines;
+        private final int[] unknown;
+
+        private Counts counts;
+
+        Enumeration(Component component, int depth, byte[] assignment, int[] mines, int[] unknown) {
+            this.component = component;
+            this.depth = depth;
+            this.assignment = assignment;
+            this.mines = mines;
+            this.unknown = unknown;
+        }
+
+        @Override
+        protected Counts compute() {
+            int size = component.size();
+
+            if (size - depth > FORK_THRESHOLD && depth < MAX_FORK_DEPTH) {
+                Enumeration safe = branch(0);
+                Enumeration mined = branch(1);
+
+                if (safe == null || mined == null) {
+                    Enumeration only = safe != null ? safe : mined;
+                    return only != null ? only.compute() : new Counts(size);
+                }
+                mined.fork();
+                Counts result = safe.compute();
+                result.add(mined.join());
+                return result;
+            }
+
+            counts = new Counts(size);
+            search(depth, countMines(depth));
+            return counts;
+        }
+
+        /**
+         * <p>
+         * Copies this assignment with the next variable set.
+         * </p>
+         * @return the branch, or null if the value breaks a number.
+         * */
+        private Enumeration branch(int value) {
+            byte[] branchAssignment = assignment.clone();
+            int[] branchMines = mines.clone();
+            int[] branchUnknown = unknown.clone();
+
+            branchAssignment[depth] = (byte) value;
+            if (!assign(component, depth, value, branchMines, branchUnknown)) {
+                return null;
+            }
+            return new Enumeration(component, depth + 1, branchAssignment, branchMines, branchUnknown);
+        }
+
+        private void search(int variable, int total) {
+            if (variable == component.size()) {
+                record(total);
+                return;
+            }
+
+            for (int value = 0; value <= 1; value++) {
+                assignment[variable] = (byte) value;
+                if (assign(component, variable, value, mines, unknown)) {
+                    search(variable + 1, total + value);
+                }
+                unassign(component, variable, value, mines, unknown);
+            }
+        }
+
+        private void record(int total) {
+            int size = component.size();
+            counts.solutions[total]++;
+            for (int variable = 0; variable < size; variable++) {
+                if (assignment[variable] == 1) {
+                    counts.mined[variable * (size + 1) + total]++;
+                }
+            }
+        }
+
+        private int countMines(int variables) {
+            int total = 0;
+            for (int variable = 0; variable < variables; variable++) {
+                total += assignment[variable];
+            }
+            return total;
+        }
+
+        /**
+         * <p>
+         * Sets a variable, updating the numbers around it.
+         * </p>
+         * @return false if a number has too many mines or too few fields left.
+         * */
+        private static boolean assign(Component component, int variable, int value, int[] mines, int[] unknown) {
+            boolean valid = true;
+            for (int constraint : component.variableConstraints[variable]) {
+                unknown[constraint]--;
+                mines[constraint] += value;
+
+                int required = component.required[constraint];
+                if (mines[constraint] > required || mines[constraint] + unknown[constraint] < required) {
+                    valid = false;
+                }
+            }
+            return valid;
+        }
+
+        private static void unassign(Component component, int variable, int value, int[] mines, int[] unknown) {
+            for (int constraint : component.variableConstraints[variable]) {
+                unknown[constraint]++;
+                mines[constraint] -= value;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.aceleramaker.solver;
+
+/**
+ * <p>
+ * The fields a solver proved safe or mined.
+ * </p>
+ * Fields are given by index, row by row, so a field is at
+ * row {@code index / cols} and column {@code index % cols}.
+ *
+ * @param safeFields indexes of the closed fields proved safe.
+ * @param minedFields indexes of the closed fields proved mined.
+ * */
+public record Solution(int[] safeFields, int[] minedFields) {
+
+    /**
+     * Verifies if nothing could be proved.
+     *
+     * @return true if no field was proved safe or mined.
+     * */
+    public boolean isEmpty() {
+        return safeFields.length == 0 && minedFields.length == 0;
+    }
+}
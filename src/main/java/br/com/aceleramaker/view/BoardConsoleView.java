@@ -3,7 +3,14 @@ package br.com.aceleramaker.view;
 import br.com.aceleramaker.exception.ExitException;
 import br.com.aceleramaker.exception.ExplosionException;
 import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.BoardRenderer;
+import br.com.aceleramaker.replay.MoveLog;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
@@ -18,21 +25,107 @@ import java.util.Scanner;
  */
 public class BoardConsoleView {
 
+    private static final String CLEAR_SCREEN = "\u001B[H\u001B[2J";
+    private static final String CLEAR_BELOW = "\u001B[J";
+    private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+
     private Board board;
-    Scanner sc = new Scanner(System.in);
+    private BoardRenderer renderer;
+    private PrintStream out;
+    private MoveLog log;
+    Scanner sc;
+
+    // ANSI mode: only the changed fields are redrawn, after a first full frame
+    private final boolean ansi;
+    private boolean drawn;
+    private final StringBuilder frame = new StringBuilder();
 
 
     /**
      * Constructs a BoardConsoleView and starts the game loop.
+     * <p>
+     * The output is buffered and, on terminals that understand ANSI
+     * escape codes, only the fields that changed are redrawn.
+     * </p>
      *
      * @param board The game board to be managed.
      */
     public BoardConsoleView(Board board) {
+        this(board, System.in, new PrintStream(new BufferedOutputStream(System.out, OUTPUT_BUFFER_BYTES), false),
+                null, supportsAnsi());
+    }
+
+    /**
+     * Constructs a BoardConsoleView reading and writing the given streams
+     * and starts the game loop.
+     * <p>
+     * The output is flushed whenever the user is prompted, so it can be buffered.
+     * The input is closed when the game ends.
+     * </p>
+     *
+     * @param board The game board to be managed.
+     * @param in where the user input is read from.
+     * @param out where the board and messages are written to.
+     */
+    public BoardConsoleView(Board board, InputStream in, PrintStream out) {
+        this(board, in, out, null);
+    }
+
+    /**
+     * Constructs a BoardConsoleView recording every move in a log
+     * and starts the game loop.
+     * <p>
+     * The log is not closed when the game ends.
+     * </p>
+     *
+     * @param board The game board to be managed.
+     * @param in where the user input is read from.
+     * @param out where the board and messages are written to.
+     * @param log where the moves are recorded, or null to not record them.
+     */
+    public BoardConsoleView(Board board, InputStream in, PrintStream out, MoveLog log) {
+        this(board, in, out, log, false);
+    }
+
+    /**
+     * Constructs a BoardConsoleView choosing how the board is drawn
+     * and starts the game loop.
+     * <p>
+     * In ANSI mode the board is drawn in full at the top of a cleared screen
+     * when a game starts. After each move only the fields that changed are
+     * drawn again, placing the cursor on them with ANSI escape codes, and the
+     * prompts below the board are cleared. Each frame is written to the output
+     * at once and flushed. Otherwise the whole board is printed after each move,
+     * which works on any output.
+     * </p>
+     *
+     * @param board The game board to be managed.
+     * @param in where the user input is read from.
+     * @param out where the board and messages are written to.
+     * @param log where the moves are recorded, or null to not record them.
+     * @param ansi true to redraw only the changed fields with ANSI escape codes.
+     */
+    public BoardConsoleView(Board board, InputStream in, PrintStream out, MoveLog log, boolean ansi) {
         this.board = board;
+        this.renderer = new BoardRenderer(board);
+        this.out = out;
+        this.log = log;
+        this.sc = new Scanner(in);
+        this.ansi = ansi;
 
         runGame();
     }
 
+    /**
+     * Verifies if the standard output is a terminal that understands ANSI escape codes.
+     *
+     * @return false when the output is redirected or the terminal is dumb.
+     */
+    static boolean supportsAnsi() {
+        String term = System.getenv("TERM");
+        return System.console() != null && term != null && !term.equals("dumb");
+    }
+
     /**
      * Manages the main game loop, handling user input and game restarts.
      * Catches ExitException when the user chooses to quit the game.
@@ -47,7 +140,11 @@ public class BoardConsoleView {
                 String userIn = getUserInput("Restart game? (Y/n): ");
 
                 if (userIn.equalsIgnoreCase("s")) {
+                    if (log != null) {
+                        log.restart();
+                    }
                     board.restartBoard();
+                    drawn = false;
                 } else {
                     exitGame = true;
                 }
@@ -55,8 +152,9 @@ public class BoardConsoleView {
 
             throw new ExitException("See you soon!");
         } catch (ExitException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         } finally {
+            out.flush();
             sc.close();
         }
     }
@@ -69,7 +167,7 @@ public class BoardConsoleView {
     private void gameCycle() {
         try {
             while (!board.goalAchieved()) {
-                System.out.println(board);
+                printBoard();
 
                 String userIn = getUserInput("Enter the field coordinates (x,y): ");
 
@@ -83,12 +181,12 @@ public class BoardConsoleView {
                 }
             }
 
-            System.out.println("Congrats! You've won the game :)");
+            out.println("Congrats! You've won the game :)");
         } catch (ExplosionException e) {
-            System.out.println(board);
-            System.out.println("BOOM!!! " + e.getMessage());
+            printBoard();
+            out.println("BOOM!!! " + e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
     }
 
@@ -102,7 +200,7 @@ public class BoardConsoleView {
      * @throws IllegalArgumentException if the user selects a non-existent row/column.
      * */
     private void processGameAction(int row, int col) {
-        if (row > board.getRows() || col > board.getCols()) {
+        if (row < 0 || row >= board.getRows() || col < 0 || col >= board.getCols()) {
             throw new IllegalArgumentException(
                     String.format("Invalid field. Board size is %dx%d", board.getRows(), board.getCols())
             );
@@ -111,12 +209,76 @@ public class BoardConsoleView {
         String userIn = getUserInput("(1) Open field - (2) Toggle mark: ");
 
         switch (userIn) {
-            case "1" -> board.openField(row, col);
-            case "2" -> board.toggleMark(row, col);
-            default -> System.out.println("Invalid option. Please enter 1 or 2.");
+            case "1" -> {
+                if (log != null) {
+                    log.open(row, col);
+                }
+                board.openField(row, col);
+            }
+            case "2" -> {
+                if (log != null) {
+                    log.toggleMark(row, col);
+                }
+                board.toggleMark(row, col);
+            }
+            default -> out.println("Invalid option. Please enter 1 or 2.");
+        }
+    }
+
+
+    /**
+     * Writes the board straight to the output, without building it as a String.
+     * In ANSI mode only the fields changed since the last frame are written.
+     */
+    private void printBoard() {
+        try {
+            if (!ansi) {
+                renderer.render(out);
+                out.println();
+                return;
+            }
+
+            frame.setLength(0);
+            if (!drawn) {
+                frame.append(CLEAR_SCREEN);
+                renderer.render(frame);
+                drawn = true;
+            } else {
+                renderer.renderChanges(this::appendField);
+            }
+
+            // the prompts go below the board, over the previous ones
+            moveCursor(board.getRows() + 2, 1);
+            frame.append(CLEAR_BELOW).append('\n');
+
+            out.append(frame);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Appends a changed field to the frame, placing the cursor over its symbol.
+     * Below the header, row {@code r} is written as its number followed by
+     * 3 characters per field, with the symbol in the middle.
+     */
+    private void appendField(int row, int column, char symbol) {
+        moveCursor(row + 2, digits(row) + 3 * column + 2);
+        frame.append(symbol);
+    }
+
+    private void moveCursor(int line, int column) {
+        frame.append("\u001B[").append(line).append(';').append(column).append('H');
+    }
+
+    private static int digits(int number) {
+        int digits = 1;
+        for (; number >= 10; number /= 10) {
+            digits++;
+        }
+        return digits;
+    }
 
     /**
      * Converts the user's coordinate input into a list of integers.
@@ -150,9 +312,10 @@ public class BoardConsoleView {
      * @throws ExitException if the user inputs "exit".
      */
     private String getUserInput(String text) {
-        System.out.print(text);
+        out.print(text);
+        out.flush();
         String userInput = sc.nextLine();
-        System.out.println();
+        out.println();
 
         if (userInput.equalsIgnoreCase("exit")) {
             throw new ExitException("See you soon!");
@@ -0,0 +1,261 @@
+package br.com.aceleramaker.view;
+
+import br.com.aceleramaker.model.Board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * <p>
+ * Plays a script of moves on a Board, without prompting for input.
+ * </p>
+ * A script has one command per line, where row and column are numbers
+ * separated by a comma, with spaces allowed between the parts:
+ * <ul>
+ *   <li>{@code o row,column} opens a field;</li>
+ *   <li>{@code m row,column} toggles the mark of a field;</li>
+ *   <li>{@code c row,column} chords a field;</li>
+ *   <li>{@code r} restarts the board.</li>
+ * </ul>
+ * Blank lines and lines starting with {@code #} are skipped.
+ * <p>
+ * Commands are parsed straight from the bytes of the script into a reused
+ * array of batch commands, which is applied with
+ * {@link Board#applyCommands(int[], int, int[])} whenever it fills up,
+ * so no String or boxed number is created while the script is played.
+ * Explosions are counted and do not stop the script. An invalid line
+ * stops it, after the moves before that line are played.
+ * </p>
+ * */
+public class CommandScript {
+
+    /**
+     * Statistics of a script played on a board.
+     *
+     * @param moves number of moves applied, not counting restarts.
+     * @param revealed number of safe fields revealed by the moves.
+     * @param explosions number of moves that opened a mined field.
+     * @param restarts number of restarts.
+     * */
+    public record Result(long moves, long revealed, long explosions, long restarts) {
+    }
+
+    private static final int BATCH_COMMANDS = 4096;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int RESTART = -1;
+
+    private final Board board;
+    private final int[] commands = new int[BATCH_COMMANDS * Board.COMMAND_SIZE];
+    private final int[] results = new int[BATCH_COMMANDS];
+    private int count;
+    private int line;
+
+    private long moves;
+    private long revealed;
+    private long explosions;
+    private long restarts;
+
+    private CommandScript(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * <p>
+     * Plays a script held in memory.
+     * </p>
+     * The script is read from the position to the limit of the buffer,
+     * which is left at its limit.
+     *
+     * @param board the board to be played.
+     * @param script the bytes of the script.
+     * @return statistics of the moves.
+     * @throws IllegalArgumentException if a line is not a valid command or is outside the board.
+     * */
+    public static Result play(Board board, ByteBuffer script) {
+        CommandScript runner = new CommandScript(board);
+        runner.parse(script, true);
+        return runner.finish();
+    }
+
+    /**
+     * <p>
+     * Plays a script read from a channel, such as a file or the standard input.
+     * </p>
+     * The channel is read in blocks until its end and is not closed.
+     *
+     * @param board the board to be played.
+     * @param channel where the script is read from.
+     * @return statistics of the moves.
+     * @throws IOException if the channel cannot be read.
+     * @throws IllegalArgumentException if a line is not a valid command, is outside the board,
+     * or does not fit in the read buffer.
+     * */
+    public static Result play(Board board, ReadableByteChannel channel) throws IOException {
+        CommandScript runner = new CommandScript(board);
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            runner.parse(buffer, false);
+            if (!buffer.hasRemaining() || buffer.position() > 0 || buffer.limit() < buffer.capacity()) {
+                buffer.compact();
+                continue;
+            }
+            throw new IllegalArgumentException(String.format(
+                    "Invalid command at line %d. Lines are limited to %d bytes", runner.line + 1, READ_BUFFER_BYTES
+            ));
+        }
+
+        buffer.flip();
+        runner.parse(buffer, true);
+        return runner.finish();
+    }
+
+    /**
+     * <p>
+     * Parses the complete lines of the buffer.
+     * </p>
+     * The position is left at the start of the first incomplete line,
+     * unless the input ended, when the rest is parsed as the last line.
+     * */
+    private void parse(ByteBuffer buffer, boolean endOfInput) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+
+        try {
+            for (int i = start; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    parseLine(buffer, start, i);
+                    start = i + 1;
+                }
+            }
+            if (endOfInput && start < limit) {
+                parseLine(buffer, start, limit);
+                start = limit;
+            }
+        } catch (IllegalArgumentException e) {
+            // the moves before the invalid line are played
+            flush();
+            throw e;
+        }
+
+        buffer.position(start);
+    }
+
+    private void parseLine(ByteBuffer buffer, int start, int end) {
+        line++;
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+
+        int i = skipSpaces(buffer, start, end);
+        if (i == end || buffer.get(i) == '#') {
+            return;
+        }
+
+        int command = switch (buffer.get(i++)) {
+            case 'o' -> Board.OPEN;
+            case 'm' -> Board.TOGGLE_MARK;
+            case 'c' -> Board.CHORD;
+            case 'r' -> RESTART;
+            default -> throw invalid();
+        };
+
+        if (command == RESTART) {
+            if (skipSpaces(buffer, i, end) != end) {
+                throw invalid();
+            }
+            flush();
+            board.restartBoard();
+            restarts++;
+            return;
+        }
+
+        i = skipSpaces(buffer, i, end);
+        int row = 0;
+        int digits = 0;
+        for (; i < end && isDigit(buffer.get(i)); i++, digits++) {
+            row = row * 10 + (buffer.get(i) - '0');
+            if (row >= board.getRows()) {
+                throw outside();
+            }
+        }
+        if (digits == 0) {
+            throw invalid();
+        }
+
+        i = skipSpaces(buffer, i, end);
+        if (i == end || buffer.get(i++) != ',') {
+            throw invalid();
+        }
+
+        i = skipSpaces(buffer, i, end);
+        int column = 0;
+        digits = 0;
+        for (; i < end && isDigit(buffer.get(i)); i++, digits++) {
+            column = column * 10 + (buffer.get(i) - '0');
+            if (column >= board.getCols()) {
+                throw outside();
+            }
+        }
+        if (digits == 0 || skipSpaces(buffer, i, end) != end) {
+            throw invalid();
+        }
+
+        int offset = count * Board.COMMAND_SIZE;
+        commands[offset] = command;
+        commands[offset + 1] = row;
+        commands[offset + 2] = column;
+        if (++count == BATCH_COMMANDS) {
+            flush();
+        }
+    }
+
+    /**
+     * <p>
+     * Applies the commands parsed so far.
+     * </p>
+     * */
+    private void flush() {
+        board.applyCommands(commands, count, results);
+
+        for (int i = 0; i < count; i++) {
+            if (results[i] == Board.EXPLODED) {
+                explosions++;
+            } else if (commands[i * Board.COMMAND_SIZE] != Board.TOGGLE_MARK) {
+                revealed += results[i];
+            }
+        }
+        moves += count;
+        count = 0;
+    }
+
+    private Result finish() {
+        flush();
+        return new Result(moves, revealed, explosions, restarts);
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int i, int end) {
+        while (i < end && (buffer.get(i) == ' ' || buffer.get(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private IllegalArgumentException invalid() {
+        return new IllegalArgumentException(String.format(
+                "Invalid command at line %d. Expected 'o', 'm' or 'c' with row,column, or 'r'", line
+        ));
+    }
+
+    private IllegalArgumentException outside() {
+        return new IllegalArgumentException(String.format(
+                "Invalid field at line %d. Board size is %dx%d", line, board.getRows(), board.getCols()
+        ));
+    }
+}
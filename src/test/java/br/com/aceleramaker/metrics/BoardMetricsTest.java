@@ -0,0 +1,84 @@
+package br.com.aceleramaker.metrics;
+
+import br.com.aceleramaker.model.Board;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardMetricsTest {
+
+    @AfterEach
+    void removeSink() {
+        Metrics.setSink(MetricsSink.NOOP);
+    }
+
+    @Test
+    void testRecordBoardOperations() {
+        BoardMetrics metrics = new BoardMetrics();
+        Metrics.setSink(metrics);
+
+        Board board = new Board(10, 10, 0, 1L);
+        board.toggleMark(0, 0);
+        board.toggleMark(0, 0);
+        board.openField(5, 5);
+        board.toggleMark(0, 0);
+        board.goalAchieved();
+        board.toString();
+
+        assertEquals(1, metrics.getCount(Operation.CONSTRUCT));
+        assertEquals(100, metrics.getTotalSize(Operation.CONSTRUCT));
+        assertEquals(1, metrics.getCount(Operation.PLACE_MINES));
+        assertEquals(1, metrics.getCount(Operation.OPEN_FIELD));
+        assertEquals(100, metrics.getTotalSize(Operation.OPEN_FIELD));
+        assertEquals(3, metrics.getCount(Operation.TOGGLE_MARK));
+        assertEquals(2, metrics.getTotalSize(Operation.TOGGLE_MARK), "Toggling an opened field changes nothing");
+        assertEquals(1, metrics.getCount(Operation.GOAL_ACHIEVED));
+        assertEquals(1, metrics.getCount(Operation.RENDER));
+        assertTrue(metrics.getTotalNanos(Operation.CONSTRUCT) > 0);
+    }
+
+    @Test
+    void testNoopSinkRecordsNothing() {
+        BoardMetrics metrics = new BoardMetrics();
+        Metrics.setSink(metrics);
+        Metrics.setSink(MetricsSink.NOOP);
+
+        new Board(10, 10, 10, 1L).goalAchieved();
+
+        assertEquals(0L, Metrics.start());
+        assertEquals(0, metrics.getCount(Operation.CONSTRUCT));
+        assertThrows(IllegalArgumentException.class, () -> Metrics.setSink(null));
+    }
+
+    @Test
+    void testPercentiles() {
+        BoardMetrics metrics = new BoardMetrics();
+
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(Operation.OPEN_FIELD, i * 1000L, i);
+        }
+
+        assertEquals(0, metrics.getLatencyPercentile(Operation.TOGGLE_MARK, 50));
+        assertEquals(63, metrics.getSizePercentile(Operation.OPEN_FIELD, 50));
+        assertEquals(127, metrics.getSizePercentile(Operation.OPEN_FIELD, 99));
+        assertEquals(131_071, metrics.getLatencyPercentile(Operation.OPEN_FIELD, 100));
+        assertEquals(5050, metrics.getTotalSize(Operation.OPEN_FIELD));
+        assertThrows(IllegalArgumentException.class, () -> metrics.getLatencyPercentile(Operation.OPEN_FIELD, 101));
+
+        metrics.reset();
+        assertEquals(0, metrics.getCount(Operation.OPEN_FIELD));
+        assertEquals(0, metrics.getSizePercentile(Operation.OPEN_FIELD, 50));
+    }
+
+    @Test
+    void testAndThen() {
+        BoardMetrics first = new BoardMetrics();
+        BoardMetrics second = new BoardMetrics();
+
+        first.andThen(second).record(Operation.RENDER, 10L, 36);
+
+        assertEquals(1, first.getCount(Operation.RENDER));
+        assertEquals(36, second.getTotalSize(Operation.RENDER));
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.aceleramaker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdjacencyTest {
+
+    @Test
+    void testMatchesNeighborOffsets() {
+        int[][] sizes = {{1, 1}, {1, 5}, {5, 1}, {2, 2}, {3, 7}, {6, 6}};
+        int[] expected = new int[Neighbors.COUNT];
+        int[] actual = new int[Neighbors.COUNT];
+
+        for (int[] size : sizes) {
+            int rows = size[0];
+            int cols = size[1];
+            Adjacency adjacency = new Adjacency(rows, cols);
+
+            for (int index = 0; index < rows * cols; index++) {
+                int expectedCount = Neighbors.of(rows, cols, index / cols, index % cols, expected);
+                int actualCount = adjacency.neighbors(index, actual);
+
+                assertArrayEquals(Arrays.copyOf(expected, expectedCount), Arrays.copyOf(actual, actualCount));
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.aceleramaker.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardRendererTest {
+
+    private Board board;
+    private BoardRenderer renderer;
+
+    @BeforeEach
+    void startRenderer() {
+        board = new Board(12, 12, 10, 3L);
+        renderer = new BoardRenderer(board);
+    }
+
+    @Test
+    void testRenderSameAsToString() throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        renderer.render(sb);
+
+        assertEquals(board.toString(), sb.toString());
+    }
+
+    @Test
+    void testRenderViewport() throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        renderer.render(sb, 10, 9, 5, 2);
+
+        String expected = """
+                  9  10\s
+                10 ?  ?\s
+                11 ?  ?\s
+                """;
+        assertEquals(expected, sb.toString());
+    }
+
+    @Test
+    void testRenderChanges() throws IOException {
+        renderer.render(new StringBuilder());
+
+        Field safe = board.getFields().stream()
+                .filter(field -> !field.isMined())
+                .findFirst()
+                .orElseThrow();
+        int revealed = board.openField(safe.getRow(), safe.getColumn());
+
+        int changes = renderer.renderChanges((row, column, symbol) ->
+                assertEquals(board.getField(row, column).toString(), String.valueOf(symbol))
+        );
+
+        assertEquals(revealed, changes);
+        assertEquals(0, renderer.renderChanges((row, column, symbol) -> fail("no field changed")));
+    }
+
+    @Test
+    void testRenderChangesSymbol() throws IOException {
+        renderer.render(new StringBuilder());
+        board.toggleMark(0, 0);
+
+        renderer.renderChanges((row, column, symbol) -> {
+            assertEquals(0, row);
+            assertEquals(0, column);
+            assertEquals('x', symbol);
+        });
+    }
+}
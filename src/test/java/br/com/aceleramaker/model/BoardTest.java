@@ -1,8 +1,13 @@
 package br.com.aceleramaker.model;
 
+import br.com.aceleramaker.exception.ExplosionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,11 +43,70 @@ public class BoardTest {
         );
     }
 
+    @Test
+    void testDefineNeighborsCount() {
+        // corner, edge and inner fields
+        assertEquals(3, board.getFields().get(0).getNeighboringFields().size());
+        assertEquals(5, board.getFields().get(2).getNeighboringFields().size());
+        assertEquals(8, board.getFields().get(COLS + 1).getNeighboringFields().size());
+    }
+
     @Test
     void testMineFields() {
         assertEquals(6, board.getMines());
     }
 
+    @Test
+    void testMineFieldsExactCount() {
+        Board denseBoard = new Board(20, 20, 380);
+
+        assertEquals(380, denseBoard.getFields().stream().filter(Field::isMined).count());
+    }
+
+    @Test
+    void testMineFieldsWithSeed() {
+        Board first = new Board(ROWS, COLS, MINES, 42L);
+        Board second = new Board(ROWS, COLS, MINES, 42L);
+
+        for (int i = 0; i < ROWS * COLS; i++) {
+            assertEquals(first.getFields().get(i).isMined(), second.getFields().get(i).isMined());
+        }
+        assertEquals(42L, first.getSeed());
+    }
+
+    @Test
+    void testTooManyMines() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(ROWS, COLS, ROWS * COLS + 1));
+    }
+
+    @Test
+    void testInvalidSize() {
+        // 70000 * 70000 wraps around to a positive int
+        assertThrows(IllegalArgumentException.class, () -> new Board(70_000, 70_000, 1, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new Board(-2, -3, 1, 1L));
+    }
+
+    @Test
+    void testCountNeighborhoodMines() {
+        Board denseBoard = new Board(10, 10, 40, 7L);
+
+        for (Field field : denseBoard.getFields()) {
+            long expected = field.getNeighboringFields().stream()
+                    .filter(Field::isMined)
+                    .count();
+            assertEquals(expected, field.countNeighborhoodMines());
+        }
+
+        denseBoard.restartBoard();
+
+        for (Field field : denseBoard.getFields()) {
+            long expected = field.getNeighboringFields().stream()
+                    .filter(Field::isMined)
+                    .count();
+            assertEquals(expected, field.countNeighborhoodMines());
+        }
+    }
+
     @Test
     void testGameWon() {
         board.getFields().stream()
@@ -52,6 +116,43 @@ public class BoardTest {
         assertTrue(board.goalAchieved());
     }
 
+    @Test
+    void testRemainingFields() {
+        assertEquals(ROWS * COLS - MINES, board.remainingFields());
+
+        Field f = board.getFields().stream()
+                .filter(field -> !field.isMined())
+                .findFirst()
+                .orElseThrow();
+        int revealed = board.openField(f.getRow(), f.getColumn());
+
+        assertEquals(ROWS * COLS - MINES - revealed, board.remainingFields());
+    }
+
+    @Test
+    void testMarkCounters() {
+        Field mined = board.getFields().stream()
+                .filter(Field::isMined)
+                .findFirst()
+                .orElseThrow();
+        Field safe = board.getFields().stream()
+                .filter(field -> !field.isMined())
+                .findFirst()
+                .orElseThrow();
+
+        board.toggleMark(mined.getRow(), mined.getColumn());
+        board.toggleMark(safe.getRow(), safe.getColumn());
+
+        assertEquals(2, board.getMarkedFields());
+        assertEquals(1, board.getFlaggedMines());
+        assertEquals(MINES - 2, board.remainingMines());
+
+        board.toggleMark(safe.getRow(), safe.getColumn());
+
+        assertEquals(1, board.getMarkedFields());
+        assertEquals(1, board.getFlaggedMines());
+    }
+
     @Test
     void testRestartBoard() {
         board.getFields()
@@ -71,6 +172,8 @@ public class BoardTest {
         assertTrue(isBoardReseted);
 
         assertEquals(MINES, board.getMines());
+        assertEquals(0, board.getMarkedFields());
+        assertEquals(ROWS * COLS - MINES, board.remainingFields());
     }
 
     @Test
@@ -85,6 +188,31 @@ public class BoardTest {
         assertTrue(f.isOpened());
     }
 
+    @Test
+    void testOpenFieldTwiceRevealsNothing() {
+        Field f = board.getFields().stream()
+                .filter(field -> !field.isMined())
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(board.openField(f.getRow(), f.getColumn()) > 0);
+        assertEquals(0, board.openField(f.getRow(), f.getColumn()));
+    }
+
+    @Test
+    void testOpenFieldLargeEmptyArea() {
+        Board largeBoard = new Board(1000, 1000, 1);
+        Field f = largeBoard.getFields().stream()
+                .filter(field -> !field.isMined())
+                .findFirst()
+                .orElseThrow();
+
+        int revealed = largeBoard.openField(f.getRow(), f.getColumn());
+
+        assertEquals(1000 * 1000 - 1, revealed);
+        assertTrue(largeBoard.goalAchieved());
+    }
+
     @Test
     void testToggleMark() {
         Field f = board.getFields().stream()
@@ -96,6 +224,300 @@ public class BoardTest {
         assertTrue(f.isMarked());
     }
 
+    @Test
+    void testGetField() {
+        Field f = board.getField(2, 4);
+
+        assertEquals(2, f.getRow());
+        assertEquals(4, f.getColumn());
+    }
+
+    @Test
+    void testFieldViewNeighborsComeFromBoard() {
+        Field f = board.getField(2, 4);
+
+        assertEquals(board.getField(2, 4), f);
+        assertFalse(f.addNeighbor(board.getField(2, 3)));
+        assertEquals(8, f.getNeighboringFields().size());
+    }
+
+    @Test
+    void testGetFieldOutsideBoard() {
+        assertThrows(IllegalArgumentException.class, () -> board.getField(ROWS, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.getField(0, -1));
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Field safe = board.getFields().stream()
+                .filter(field -> !field.isMined())
+                .findFirst()
+                .orElseThrow();
+        Field mined = board.getFields().stream()
+                .filter(Field::isMined)
+                .findFirst()
+                .orElseThrow();
+        board.openField(safe.getRow(), safe.getColumn());
+        board.toggleMark(mined.getRow(), mined.getColumn());
+
+        Path path = Files.createTempFile("board", ".snapshot");
+        try {
+            board.save(path);
+            Board loaded = Board.load(path);
+
+            assertEquals(board.toString(), loaded.toString());
+            assertEquals(board.getSeed(), loaded.getSeed());
+            assertEquals(board.getMines(), loaded.getMines());
+            assertEquals(board.remainingFields(), loaded.remainingFields());
+            assertEquals(board.getFlaggedMines(), loaded.getFlaggedMines());
+            for (int i = 0; i < ROWS * COLS; i++) {
+                assertEquals(board.getFields().get(i).isMined(), loaded.getFields().get(i).isMined());
+                assertEquals(board.countNeighborhoodMines(i), loaded.countNeighborhoodMines(i));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testSaveAndLoadSafeStart() throws IOException {
+        Board safeStart = Board.withSafeStart(16, 30, 99, 7L, 3, 29);
+
+        Path path = Files.createTempFile("board", ".snapshot");
+        try {
+            safeStart.save(path);
+            Board loaded = Board.load(path);
+            assertEquals(3, loaded.getSafeStartRow());
+            assertEquals(29, loaded.getSafeStartColumn());
+
+            board.save(path);
+            loaded = Board.load(path);
+            assertEquals(-1, loaded.getSafeStartRow());
+            assertEquals(-1, loaded.getSafeStartColumn());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testLoadInvalidFile() throws IOException {
+        Path path = Files.createTempFile("board", ".snapshot");
+        try {
+            Files.writeString(path, "not a board snapshot");
+            assertThrows(IOException.class, () -> Board.load(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testLoadTruncatedFile() throws IOException {
+        Path path = Files.createTempFile("board", ".snapshot");
+        try {
+            board.save(path);
+            byte[] bytes = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(bytes, bytes.length - Long.BYTES));
+
+            assertThrows(IOException.class, () -> Board.load(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testLoadCorruptedFile() throws IOException {
+        Path path = Files.createTempFile("board", ".snapshot");
+        try {
+            board.save(path);
+            byte[] saved = Files.readAllBytes(path);
+
+            // header: magic, version, rows, cols, mines, safe start and seed, then the mined bitset
+            byte[] moreMines = saved.clone();
+            moreMines[16] = (byte) (ROWS * COLS + 1);
+            byte[] wrongCount = saved.clone();
+            wrongCount[16] = MINES + 1;
+            byte[] strayBit = saved.clone();
+            strayBit[32 + 7] |= (byte) 0x80;
+            byte[] outsideStart = saved.clone();
+            outsideStart[20] = (byte) (ROWS * COLS);
+            outsideStart[21] = outsideStart[22] = outsideStart[23] = 0;
+
+            for (byte[] corrupted : new byte[][] {moreMines, wrongCount, strayBit, outsideStart}) {
+                Files.write(path, corrupted);
+                assertThrows(IOException.class, () -> Board.load(path));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testWithSafeStart() {
+        for (long seed = 0; seed < 20; seed++) {
+            Board safeStart = Board.withSafeStart(16, 30, 99, seed, 0, 29);
+
+            assertEquals(99, safeStart.getFields().stream().filter(Field::isMined).count());
+            assertFalse(safeStart.getField(0, 29).isMined());
+            assertTrue(safeStart.getField(0, 29).getNeighboringFields().stream().noneMatch(Field::isMined));
+            assertTrue(safeStart.openField(0, 29) > 1);
+        }
+    }
+
+    @Test
+    void testWithSafeStartOnDenseBoard() {
+        Board safeStart = Board.withSafeStart(3, 3, 8, 1L, 1, 1);
+
+        assertEquals(8, safeStart.getFields().stream().filter(Field::isMined).count());
+        assertFalse(safeStart.getField(1, 1).isMined());
+        assertThrows(IllegalArgumentException.class, () -> Board.withSafeStart(3, 3, 9, 1L, 1, 1));
+    }
+
+    @Test
+    void testOpenReturnsMoveResult() {
+        Board safeStart = Board.withSafeStart(16, 30, 99, 3L, 8, 15);
+
+        MoveResult first = safeStart.open(8, 15);
+        assertTrue(first.opened());
+        assertFalse(first.exploded());
+        assertTrue(first.revealed() > 1);
+        assertFalse(first.won());
+
+        MoveResult again = safeStart.open(8, 15);
+        assertFalse(again.opened());
+        assertEquals(0, again.revealed());
+
+        int mine = 0;
+        while (!safeStart.getFields().get(mine).isMined()) {
+            mine++;
+        }
+        MoveResult lost = safeStart.open(mine / 30, mine % 30);
+        assertTrue(lost.opened());
+        assertTrue(lost.exploded());
+        assertFalse(lost.won());
+        assertTrue(safeStart.getFields().stream().filter(Field::isMined).allMatch(Field::isOpened));
+    }
+
+    @Test
+    void testOpenWinningMove() {
+        Board single = new Board(3, 3, 0, 1L);
+
+        assertEquals(new MoveResult(true, false, 9, true), single.open(1, 1));
+    }
+
+    @Test
+    void testOpenFieldThrowsWithoutStackTrace() {
+        Board full = new Board(2, 2, 4, 1L);
+
+        ExplosionException e = assertThrows(ExplosionException.class, () -> full.openField(0, 0));
+        assertEquals("Game over!", e.getMessage());
+        assertEquals(0, e.getStackTrace().length);
+        assertTrue(full.isOpened(1, 1), "Every mine is revealed when the game is lost");
+    }
+
+    @Test
+    void testChord() {
+        Board chorded = Board.empty(3, 3, 1, 0L);
+        chorded.mine(0);
+
+        assertEquals(1, chorded.openField(1, 1));
+        assertFalse(chorded.chord(1, 1).opened(), "The marks do not match the number yet");
+        assertFalse(chorded.chord(0, 1).opened(), "Closed fields cannot be chorded");
+
+        chorded.toggleMark(0, 0);
+        assertEquals(new MoveResult(true, false, 7, true), chorded.chord(1, 1));
+        assertFalse(chorded.chord(1, 1).opened(), "Nothing is left to open");
+    }
+
+    @Test
+    void testChordOpensLikeSingleOpenings() {
+        Board chorded = Board.empty(ROWS, COLS, 2, 0L);
+        Board single = Board.empty(ROWS, COLS, 2, 0L);
+        for (Board b : new Board[] {chorded, single}) {
+            b.mine(0);
+            b.mine(ROWS * COLS - 1);
+            b.openField(1, 1);
+            b.toggleMark(0, 0);
+        }
+
+        int revealed = 0;
+        for (int row = 0; row <= 2; row++) {
+            for (int column = 0; column <= 2; column++) {
+                revealed += single.openField(row, column);
+            }
+        }
+
+        assertEquals(revealed, chorded.chord(1, 1).revealed());
+        assertEquals(single.toString(), chorded.toString());
+        assertEquals(single.remainingFields(), chorded.remainingFields());
+    }
+
+    @Test
+    void testChordWithWrongMark() {
+        Board chorded = Board.empty(3, 3, 1, 0L);
+        chorded.mine(0);
+        chorded.openField(1, 1);
+        chorded.toggleMark(0, 1);
+
+        MoveResult result = chorded.chord(1, 1);
+        assertTrue(result.exploded());
+        assertTrue(chorded.isOpened(0, 0), "Every mine is revealed when the game is lost");
+        assertFalse(chorded.isOpened(2, 2), "Nothing else is opened when a chord explodes");
+    }
+
+    @Test
+    void testApplyChordCommand() {
+        Board chorded = Board.empty(3, 3, 1, 0L);
+        chorded.mine(0);
+
+        int[] commands = {Board.OPEN, 1, 1, Board.CHORD, 1, 1, Board.TOGGLE_MARK, 0, 0, Board.CHORD, 1, 1};
+        assertArrayEquals(new int[] {1, 0, 1, 7}, chorded.applyCommands(commands));
+        assertTrue(chorded.goalAchieved());
+    }
+
+    @Test
+    void testApplyCommandsMatchesSingleMoves() {
+        Board batched = new Board(16, 30, 99, 7L);
+        Board single = new Board(16, 30, 99, 7L);
+
+        int[] commands = new int[16 * 30 * Board.COMMAND_SIZE];
+        int[] expected = new int[16 * 30];
+        for (int index = 0; index < expected.length; index++) {
+            int row = index / 30;
+            int column = index % 30;
+            int command = (index % 7 == 0) ? Board.TOGGLE_MARK : Board.OPEN;
+
+            commands[index * Board.COMMAND_SIZE] = command;
+            commands[index * Board.COMMAND_SIZE + 1] = row;
+            commands[index * Board.COMMAND_SIZE + 2] = column;
+
+            if (command == Board.TOGGLE_MARK) {
+                expected[index] = single.isOpened(row, column) ? 0 : 1;
+                single.toggleMark(row, column);
+            } else {
+                try {
+                    expected[index] = single.openField(row, column);
+                } catch (ExplosionException e) {
+                    expected[index] = Board.EXPLODED;
+                }
+            }
+        }
+
+        assertArrayEquals(expected, batched.applyCommands(commands));
+        assertEquals(single.toString(), batched.toString());
+        assertEquals(single.remainingFields(), batched.remainingFields());
+        assertEquals(single.remainingMines(), batched.remainingMines());
+    }
+
+    @Test
+    void testApplyCommandsInvalid() {
+        int[] commands = {Board.TOGGLE_MARK, 0, 0, Board.OPEN, ROWS, 0};
+
+        assertThrows(IllegalArgumentException.class, () -> board.applyCommands(commands));
+        assertThrows(IllegalArgumentException.class, () -> board.applyCommands(new int[] {0, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> board.applyCommands(new int[] {Board.OPEN, 0}));
+        assertFalse(board.isMarked(0, 0), "No command is applied when one is invalid");
+    }
+
     @Test
     void testToStringRowAndColumnNumbers() {
         String expected = """
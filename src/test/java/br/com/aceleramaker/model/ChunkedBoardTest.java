@@ -0,0 +1,150 @@
+package br.com.aceleramaker.model;
+
+import br.com.aceleramaker.exception.ExplosionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedBoardTest {
+
+    private static final long SEED = 99L;
+    private static final double DENSITY = 0.15;
+
+    @Test
+    void testSameSeedSameMines() {
+        ChunkedBoard first = new ChunkedBoard(SEED, DENSITY);
+        ChunkedBoard second = new ChunkedBoard(SEED, DENSITY, 1, 1000);
+
+        for (int row = -70; row < 70; row += 7) {
+            for (int column = 1_000_000; column < 1_000_140; column++) {
+                assertEquals(first.isMined(row, column), second.isMined(row, column));
+            }
+        }
+    }
+
+    @Test
+    void testCountNeighborhoodMinesAcrossChunks() {
+        ChunkedBoard board = new ChunkedBoard(SEED, DENSITY);
+
+        for (int row = -2; row < 130; row++) {
+            for (int column = -2; column < 130; column++) {
+                int expected = 0;
+                for (int i = 0; i < Neighbors.COUNT; i++) {
+                    if (board.isMined(row + Neighbors.rowOffset(i), column + Neighbors.colOffset(i))) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, board.countNeighborhoodMines(row, column));
+            }
+        }
+    }
+
+    @Test
+    void testOpenFieldFarFromOrigin() {
+        ChunkedBoard board = new ChunkedBoard(SEED, DENSITY);
+        int row = 2_000_000_000;
+        int column = -2_000_000_000;
+
+        while (board.isMined(row, column)) {
+            column++;
+        }
+
+        assertTrue(board.openField(row, column) > 0);
+        assertTrue(board.isOpened(row, column));
+        assertTrue(board.getExploredChunks() <= 4);
+    }
+
+    @Test
+    void testCascadeCrossesChunks() {
+        ChunkedBoard board = new ChunkedBoard(SEED, 0.0, 16, 10_000);
+
+        int revealed = board.openField(0, 0);
+
+        assertEquals(10_000, revealed);
+        assertTrue(board.getExploredChunks() > 1);
+    }
+
+    @Test
+    void testResumeStoppedCascade() {
+        ChunkedBoard limited = new ChunkedBoard(SEED, DENSITY, 16, 50);
+        ChunkedBoard unlimited = new ChunkedBoard(SEED, DENSITY);
+        int row = 0;
+        int column = 0;
+        while (limited.isMined(row, column) || limited.countNeighborhoodMines(row, column) > 0) {
+            column++;
+        }
+
+        int expected = unlimited.openField(row, column);
+        assertTrue(expected > 50);
+        assertFalse(unlimited.hasPendingCascade());
+
+        int revealed = limited.openField(row, column);
+        assertEquals(50, revealed);
+        assertTrue(limited.hasPendingCascade());
+        while (limited.hasPendingCascade()) {
+            int resumed = limited.resumeCascade();
+            assertTrue(resumed <= 50);
+            revealed += resumed;
+        }
+
+        assertEquals(expected, revealed);
+        assertEquals(unlimited.getOpenedFields(), limited.getOpenedFields());
+        for (int r = row - 100; r < row + 100; r++) {
+            for (int c = column - 100; c < column + 100; c++) {
+                assertEquals(unlimited.isOpened(r, c), limited.isOpened(r, c));
+            }
+        }
+        assertEquals(0, limited.resumeCascade());
+    }
+
+    @Test
+    void testStateKeptAfterEviction() {
+        ChunkedBoard board = new ChunkedBoard(SEED, DENSITY, 1, 1000);
+
+        board.toggleMark(5, 5);
+        for (int chunk = 1; chunk < 50; chunk++) {
+            board.isOpened(chunk * ChunkedBoard.CHUNK_SIZE, 0);
+        }
+
+        assertTrue(board.isMarked(5, 5));
+    }
+
+    @Test
+    void testSmallCacheMatchesLargeCache() {
+        // a tiny cache evicts and finds chunks again on almost every move
+        ChunkedBoard small = new ChunkedBoard(SEED, DENSITY, 2, 5_000);
+        ChunkedBoard large = new ChunkedBoard(SEED, DENSITY, 100_000, 5_000);
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        for (int i = 0; i < 2_000; i++) {
+            int row = random.nextInt(-400, 400);
+            int column = random.nextInt(-400, 400);
+
+            if (random.nextInt(4) == 0) {
+                small.toggleMark(row, column);
+                large.toggleMark(row, column);
+            } else if (!small.isMined(row, column)) {
+                assertEquals(large.openField(row, column), small.openField(row, column));
+            }
+        }
+
+        for (int row = -400; row < 400; row++) {
+            for (int column = -400; column < 400; column++) {
+                assertEquals(large.isOpened(row, column), small.isOpened(row, column));
+                assertEquals(large.isMarked(row, column), small.isMarked(row, column));
+            }
+        }
+        assertEquals(large.getExploredChunks(), small.getExploredChunks());
+        assertEquals(large.getOpenedFields(), small.getOpenedFields());
+    }
+
+    @Test
+    void testOpenMinedField() {
+        ChunkedBoard board = new ChunkedBoard(SEED, 1.0);
+
+        assertThrows(ExplosionException.class, () -> board.openField(10, 10));
+        assertTrue(board.isOpened(10, 10));
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.aceleramaker.model;
+
+import br.com.aceleramaker.exception.ExplosionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentBoardTest {
+
+    private static final int ROWS = 200;
+    private static final int COLS = 200;
+    private static final int MINES = 4000;
+    private static final int THREADS = 8;
+    private static final int MOVES = 20_000;
+
+    @Test
+    void testConcurrentMovesKeepCounters() throws Exception {
+        Board board = new Board(ROWS, COLS, MINES, 11L);
+        ConcurrentBoard shared = new ConcurrentBoard(board, 16);
+
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                results.add(executor.submit(() -> play(shared, board, random)));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        long safeClosed = board.getFields().stream()
+                .filter(field -> !field.isMined() && !field.isOpened())
+                .count();
+        long marked = board.getFields().stream().filter(Field::isMarked).count();
+        long flagged = board.getFields().stream().filter(f -> f.isMarked() && f.isMined()).count();
+
+        assertEquals(safeClosed, shared.remainingFields());
+        shared.withBoard(b -> {
+            assertEquals(safeClosed, b.remainingFields());
+            assertEquals(marked, b.getMarkedFields());
+            assertEquals(flagged, b.getFlaggedMines());
+        });
+        assertTrue(board.getFields().stream().noneMatch(f -> f.isOpened() && f.isMarked()));
+    }
+
+    @Test
+    void testConcurrentCascadesOpenEveryField() throws Exception {
+        Board board = new Board(ROWS, COLS, 0, 5L);
+        ConcurrentBoard shared = new ConcurrentBoard(board, 16);
+
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                int row = t * (ROWS / THREADS);
+                results.add(executor.submit(() -> shared.openField(row, row)));
+            }
+        }
+
+        int revealed = 0;
+        for (Future<Integer> result : results) {
+            revealed += result.get();
+        }
+
+        // only one cascade opens the board, the others find it opened
+        assertEquals(ROWS * COLS, revealed);
+        assertTrue(shared.goalAchieved());
+    }
+
+    @Test
+    void testConcurrentCascadesMatchBoard() throws Exception {
+        // cascades and chords crossing stripes in both directions, 2 stripes to force retries
+        Board board = new Board(ROWS, COLS, 1200, 3L);
+        Board expected = new Board(ROWS, COLS, 1200, 3L);
+        ConcurrentBoard shared = new ConcurrentBoard(board, 2);
+
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < MOVES / 10; i++) {
+                        int row = random.nextInt(ROWS);
+                        int column = random.nextInt(COLS);
+                        if (!board.isMined(row * COLS + column)) {
+                            shared.open(row, column);
+                            shared.chord(row, column);
+                        }
+                    }
+                }));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        // opening the same fields one by one opens the same areas, whatever the order
+        for (int index = 0; index < ROWS * COLS; index++) {
+            if (board.isOpened(index)) {
+                expected.open(index / COLS, index % COLS);
+            }
+        }
+        assertEquals(expected.toString(), shared.toString());
+        assertEquals(expected.remainingFields(), shared.remainingFields());
+    }
+
+    @Test
+    void testChordWrongMarkExplodes() {
+        Board board = new Board(6, 6, 0, 1L);
+        board.mine(0);
+        ConcurrentBoard shared = new ConcurrentBoard(board, 4);
+
+        shared.openField(1, 1);
+        shared.toggleMark(1, 2);
+
+        assertTrue(shared.chord(1, 1).exploded());
+        shared.withBoard(b -> assertTrue(b.isOpened(0)));
+    }
+
+    private static void play(ConcurrentBoard shared, Board board, SplittableRandom random) {
+        for (int i = 0; i < MOVES; i++) {
+            int row = random.nextInt(ROWS);
+            int column = random.nextInt(COLS);
+
+            if (random.nextBoolean()) {
+                shared.toggleMark(row, column);
+            } else if (!board.isMined(row * COLS + column)) {
+                shared.openField(row, column);
+            }
+        }
+    }
+
+    @Test
+    void testOpenMinedField() {
+        Board board = new Board(6, 6, 36, 1L);
+        ConcurrentBoard shared = new ConcurrentBoard(board, 4);
+
+        assertThrows(ExplosionException.class, () -> shared.openField(0, 0));
+        assertTrue(board.getFields().stream().allMatch(Field::isOpened));
+    }
+}
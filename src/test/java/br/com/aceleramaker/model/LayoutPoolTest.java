@@ -0,0 +1,137 @@
+package br.com.aceleramaker.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutPoolTest {
+
+    @Test
+    void testRestartTakesReadyLayout() throws InterruptedException {
+        try (LayoutPool pool = new LayoutPool(2, 1)) {
+            Board board = new Board(20, 30, 120, 1L);
+            board.setLayoutPool(pool);
+            awaitLayouts(pool, 20, 30, 120, 1);
+
+            for (int restart = 0; restart < 10; restart++) {
+                board.toggleMark(restart, restart);
+                board.restartBoard();
+                assertValidBoard(board, 120);
+                awaitLayouts(pool, 20, 30, 120, 1);
+            }
+
+            assertEquals(10, pool.getHits());
+            assertEquals(0, pool.getMisses());
+        }
+    }
+
+    @Test
+    void testRestartWithoutReadyLayout() {
+        try (LayoutPool pool = new LayoutPool(0, 1)) {
+            Board board = new Board(10, 10, 20, 1L);
+            board.setLayoutPool(pool);
+
+            board.restartBoard();
+
+            assertValidBoard(board, 20);
+            assertEquals(0, pool.getHits());
+            assertEquals(1, pool.getMisses());
+        }
+    }
+
+    @Test
+    void testPooledRestartsMatchSeed() throws InterruptedException {
+        try (LayoutPool pool = new LayoutPool(2, 1)) {
+            Board pooled = new Board(16, 16, 40, 7L);
+            Board plain = new Board(16, 16, 40, 7L);
+            pooled.setLayoutPool(pool);
+
+            for (int restart = 0; restart < 6; restart++) {
+                // alternate hits and misses, both must place the seeded mines
+                if (restart % 2 == 0) {
+                    awaitLayouts(pool, 16, 16, 40, 1);
+                }
+                pooled.restartBoard();
+                plain.restartBoard();
+
+                for (int index = 0; index < 16 * 16; index++) {
+                    assertEquals(plain.isMined(index), pooled.isMined(index));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSetPoolSize() throws InterruptedException {
+        try (LayoutPool pool = new LayoutPool(0, 2)) {
+            pool.setPoolSize(8, 8, 10, 3);
+
+            for (long seed = 0; seed < 5; seed++) {
+                new Board(8, 8, 10, seed).setLayoutPool(pool);
+            }
+            awaitLayouts(pool, 8, 8, 10, 3);
+            assertEquals(3, pool.available(8, 8, 10));
+            assertEquals(0, pool.available(8, 8, 11));
+
+            pool.setPoolSize(8, 8, 10, 1);
+            assertEquals(1, pool.available(8, 8, 10));
+        }
+    }
+
+    @Test
+    void testMoreBoardsThanPoolSize() throws InterruptedException {
+        try (LayoutPool pool = new LayoutPool(2, 1)) {
+            Board[] boards = new Board[5];
+            for (int i = 0; i < boards.length; i++) {
+                boards[i] = new Board(12, 12, 20, i);
+                boards[i].setLayoutPool(pool);
+            }
+
+            // the first boards keep their room, the others place their own mines
+            for (int round = 0; round < 4; round++) {
+                for (Board board : boards) {
+                    awaitLayouts(pool, 12, 12, 20, 2);
+                    board.restartBoard();
+                    assertValidBoard(board, 20);
+                }
+            }
+            assertEquals(8, pool.getHits());
+            assertEquals(12, pool.getMisses());
+
+            // a board leaving the pool gives its room to the next one asking
+            boards[0].setLayoutPool(null);
+            boards[2].restartBoard();
+            awaitLayouts(pool, 12, 12, 20, 2);
+            boards[2].restartBoard();
+            assertEquals(9, pool.getHits());
+        }
+    }
+
+    private static void assertValidBoard(Board board, int mines) {
+        int mined = 0;
+        for (int index = 0; index < board.getRows() * board.getCols(); index++) {
+            if (board.isMined(index)) {
+                mined++;
+            }
+            assertFalse(board.isOpened(index) || board.isMarked(index));
+
+            int[] neighbors = new int[8];
+            int around = 0;
+            for (int i = 0, count = board.neighbors(index, neighbors); i < count; i++) {
+                if (board.isMined(neighbors[i])) {
+                    around++;
+                }
+            }
+            assertEquals(around, board.countNeighborhoodMines(index));
+        }
+        assertEquals(mines, mined);
+        assertEquals(board.getRows() * board.getCols() - mines, board.remainingFields());
+    }
+
+    private static void awaitLayouts(LayoutPool pool, int rows, int cols, int mines, int layouts)
+            throws InterruptedException {
+        for (int i = 0; i < 500 && pool.available(rows, cols, mines) < layouts; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.aceleramaker.replay;
+
+import br.com.aceleramaker.exception.ExplosionException;
+import br.com.aceleramaker.model.Board;
+import br.com.aceleramaker.model.LayoutPool;
+import br.com.aceleramaker.solver.NoGuessGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayerTest {
+
+    private static final int ROWS = 16;
+    private static final int COLS = 30;
+    private static final int MINES = 99;
+
+    @Test
+    void testReplayRebuildsBoard() throws IOException {
+        Path path = Files.createTempFile("game", ".log");
+        try {
+            Board board = playLogged(path, 7L, 20_000);
+            Board replayed = Replayer.replay(path);
+
+            assertEquals(board.toString(), replayed.toString());
+            assertEquals(board.remainingFields(), replayed.remainingFields());
+            assertEquals(board.remainingMines(), replayed.remainingMines());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testReplayGeneratedWithSafeStart() throws IOException {
+        Board safeStart = Board.withSafeStart(ROWS, COLS, MINES, 11L, 8, 15);
+        Board noGuess;
+        try (NoGuessGenerator generator = new NoGuessGenerator(2, 10_000)) {
+            noGuess = generator.generate(9, 9, 10, 4, 4);
+        }
+
+        for (Board generated : List.of(safeStart, noGuess)) {
+            Path path = Files.createTempFile("game", ".log");
+            try {
+                Board board = playLogged(path, generated, generated.getSeed(), 200);
+                Board replayed = Replayer.replay(path);
+
+                assertEquals(board.toString(), replayed.toString());
+                assertEquals(board.remainingFields(), replayed.remainingFields());
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void testReplayRestartsFromLayoutPool() throws IOException {
+        Path path = Files.createTempFile("game", ".log");
+        try (LayoutPool pool = new LayoutPool(2, 1)) {
+            Board pooled = new Board(ROWS, COLS, MINES, 13L);
+            pooled.setLayoutPool(pool);
+
+            Board board = playLogged(path, pooled, 13L, 2_000);
+            Board replayed = Replayer.replay(path);
+
+            assertTrue(pool.getHits() + pool.getMisses() > 0);
+            assertEquals(board.toString(), replayed.toString());
+            assertEquals(board.remainingFields(), replayed.remainingFields());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void testReplayAll() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        Map<Path, String> expected = new ConcurrentHashMap<>();
+        Map<Path, String> replayed = new ConcurrentHashMap<>();
+
+        try {
+            for (int i = 0; i < 8; i++) {
+                Path path = Files.createTempFile("game", ".log");
+                paths.add(path);
+                expected.put(path, playLogged(path, i, 500).toString());
+            }
+
+            Replayer.replayAll(paths, (path, board) -> replayed.put(path, board.toString()));
+
+            assertEquals(expected, replayed);
+        } finally {
+            for (Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void testReplayInvalidFile() throws IOException {
+        Path path = Files.createTempFile("game", ".log");
+        try {
+            Files.writeString(path, "not a move log");
+            assertThrows(IOException.class, () -> Replayer.replay(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static Board playLogged(Path path, long seed, int moves) throws IOException {
+        return playLogged(path, new Board(ROWS, COLS, MINES, seed), seed, moves);
+    }
+
+    private static Board playLogged(Path path, Board board, long seed, int moves) throws IOException {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        try (MoveLog log = new MoveLog(path, board, 5)) {
+            for (int i = 0; i < moves; i++) {
+                int row = random.nextInt(rows);
+                int column = random.nextInt(cols);
+
+                switch (random.nextInt(10)) {
+                    case 0 -> {
+                        log.restart();
+                        board.restartBoard();
+                    }
+                    case 1, 2, 3 -> {
+                        log.toggleMark(row, column);
+                        board.toggleMark(row, column);
+                    }
+                    default -> {
+                        log.open(row, column);
+                        try {
+                            board.openField(row, column);
+                        } catch (ExplosionException e) {
+                            // keeps playing the lost board
+                        }
+                    }
+                }
+            }
+        }
+        return board;
+    }
+}
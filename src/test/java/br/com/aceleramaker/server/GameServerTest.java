@@ -0,0 +1,114 @@
+package br.com.aceleramaker.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+
+    private static final String COORDINATES_PROMPT = "(x,y): ";
+    private static final String ACTION_PROMPT = "Toggle mark: ";
+
+    private GameServer server;
+    private Thread serving;
+
+    private void start(Duration idleTimeout) throws IOException {
+        server = new GameServer(0, 6, 6, 1, idleTimeout);
+        serving = Thread.ofPlatform().daemon().start(server::serve);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server == null) {
+            return;
+        }
+        server.close();
+        serving.join(5_000);
+        assertFalse(serving.isAlive());
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        // long enough that a slow machine never evicts the session mid-test
+        start(Duration.ofMinutes(1));
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (Socket socket = connect()) {
+                InputStream in = socket.getInputStream();
+                OutputStream out = socket.getOutputStream();
+
+                assertTrue(readUntil(in, COORDINATES_PROMPT).contains("0  1  2  3  4  5"));
+                awaitSessions(1);
+
+                send(out, "2,3\n");
+                readUntil(in, ACTION_PROMPT);
+                send(out, "2\n");
+                String board = readUntil(in, COORDINATES_PROMPT);
+                assertTrue(board.contains("?"), board);
+
+                send(out, "exit\n");
+                assertTrue(readUntil(in, null).contains("See you soon!"));
+                awaitSessions(0);
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void testIdleSessionIsEvicted() throws IOException {
+        start(Duration.ofMillis(200));
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (Socket socket = connect()) {
+                InputStream in = socket.getInputStream();
+
+                readUntil(in, COORDINATES_PROMPT);
+                awaitSessions(1);
+
+                // no input: the server closes the connection after the idle timeout
+                readUntil(in, null);
+                awaitSessions(0);
+            }
+            return null;
+        });
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private static void send(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Reads until the text is found, or until the connection is closed when the text is null.
+     */
+    private static String readUntil(InputStream in, String text) throws IOException {
+        StringBuilder read = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            read.append((char) b);
+            if (text != null && read.indexOf(text) >= 0) {
+                return read.toString();
+            }
+        }
+        assertNull(text, "Connection closed before " + text);
+        return read.toString();
+    }
+
+    private void awaitSessions(int sessions) throws InterruptedException {
+        for (int i = 0; i < 500 && server.getSessionCount() != sessions; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(sessions, server.getSessionCount());
+    }
+}
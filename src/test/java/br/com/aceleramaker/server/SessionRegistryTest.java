@@ -0,0 +1,43 @@
+package br.com.aceleramaker.server;
+
+import br.com.aceleramaker.model.Board;
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionRegistryTest {
+
+    @Test
+    void testEvictIdle() throws InterruptedException {
+        SessionRegistry registry = new SessionRegistry(Duration.ofMillis(50));
+        Socket socket = new Socket();
+        GameSession session = new GameSession(1, socket, new Board(6, 6, 6, 1L), registry);
+        registry.register(session);
+
+        assertEquals(0, registry.evictIdle());
+        assertEquals(1, registry.size());
+
+        Thread.sleep(100);
+
+        assertEquals(1, registry.evictIdle());
+        assertEquals(0, registry.size());
+        assertTrue(socket.isClosed());
+    }
+
+    @Test
+    void testCloseAll() {
+        SessionRegistry registry = new SessionRegistry(Duration.ofMinutes(1));
+        Socket first = new Socket();
+        Socket second = new Socket();
+        registry.register(new GameSession(1, first, new Board(6, 6, 6, 1L), registry));
+        registry.register(new GameSession(2, second, new Board(6, 6, 6, 2L), registry));
+
+        registry.closeAll();
+
+        assertEquals(0, registry.size());
+        assertTrue(first.isClosed() && second.isClosed());
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.aceleramaker.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationTest {
+
+    @Test
+    void testRunIsRepeatable() {
+        Simulation simulation = new Simulation(9, 9, 10, SolverStrategy::new, 3);
+
+        SimulationResult first = simulation.run(200, 42L);
+        SimulationResult second = simulation.run(200, 42L);
+
+        assertEquals(200, first.games());
+        assertEquals(first.wins(), second.wins());
+        assertEquals(first.moves(), second.moves());
+        assertEquals(first.revealed(), second.revealed());
+        assertEquals(first.largestCascade(), second.largestCascade());
+    }
+
+    @Test
+    void testSolverWinsMoreThanRandom() {
+        SimulationResult random = new Simulation(9, 9, 10, RandomStrategy::new, 2).run(500, 7L);
+        SimulationResult solver = new Simulation(9, 9, 10, SolverStrategy::new, 2).run(500, 7L);
+
+        assertTrue(solver.winRate() > random.winRate());
+        assertTrue(solver.movesPerGame() > 1.0);
+        assertTrue(solver.averageCascade() >= 1.0);
+    }
+
+    @Test
+    void testBoardWithoutMinesIsAlwaysWon() {
+        SimulationResult result = new Simulation(4, 4, 0, RandomStrategy::new, 2).run(11, 1L);
+
+        assertEquals(11, result.games());
+        assertEquals(1.0, result.winRate());
+        assertEquals(1.0, result.movesPerGame());
+        assertEquals(16, result.largestCascade());
+    }
+
+    @Test
+    void testProgressReports() {
+        List<SimulationResult> reports = new ArrayList<>();
+        Simulation simulation = new Simulation(30, 30, 150, SolverStrategy::new, 1);
+
+        SimulationResult result = simulation.run(5_000, 1L, Duration.ofMillis(1), reports::add);
+
+        assertFalse(reports.isEmpty());
+        assertTrue(reports.getLast().games() <= result.games());
+    }
+
+    @Test
+    void testInvalidSimulation() {
+        assertThrows(IllegalArgumentException.class, () -> new Simulation(3, 3, 10, RandomStrategy::new, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Simulation(3, 3, 1, RandomStrategy::new, 0));
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.aceleramaker.solver;
+
+import br.com.aceleramaker.model.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstraintSolverTest {
+
+    @Test
+    void testNothingProvedOnClosedBoard() {
+        Board board = new Board(10, 10, 10, 1L);
+
+        assertTrue(new ConstraintSolver().solve(board).isEmpty());
+    }
+
+    @Test
+    void testSinglePointProvesMine() {
+        Board board = new Board(1, 2, 1, 1L);
+        int safeColumn = board.getField(0, 0).isMined() ? 1 : 0;
+
+        board.openField(0, safeColumn);
+        Solution solution = new ConstraintSolver().solve(board);
+
+        assertArrayEquals(new int[0], solution.safeFields());
+        assertArrayEquals(new int[] {1 - safeColumn}, solution.minedFields());
+    }
+
+    @Test
+    void testMarkedFieldsCountAsMines() {
+        Board board = new Board(1, 3, 1, 0L);
+        for (long seed = 1; board.getField(0, 1).isMined(); seed++) {
+            board = new Board(1, 3, 1, seed);
+        }
+        int mineColumn = board.getField(0, 0).isMined() ? 0 : 2;
+
+        board.openField(0, 1);
+        board.toggleMark(0, mineColumn);
+        Solution solution = new ConstraintSolver().solve(board);
+
+        assertArrayEquals(new int[] {2 - mineColumn}, solution.safeFields());
+        assertArrayEquals(new int[0], solution.minedFields());
+    }
+
+    @Test
+    void testDeductionsAreSound() {
+        ConstraintSolver solver = new ConstraintSolver();
+
+        for (long seed = 0; seed < 50; seed++) {
+            Board board = new Board(16, 30, 99, seed);
+            openFirstSafeField(board);
+
+            Solution solution = solver.solve(board);
+            for (int index : solution.safeFields()) {
+                assertFalse(board.getField(index / 30, index % 30).isMined());
+            }
+            for (int index : solution.minedFields()) {
+                assertTrue(board.getField(index / 30, index % 30).isMined());
+            }
+        }
+    }
+
+    @Test
+    void testSolverPlaysWithoutExploding() {
+        ConstraintSolver solver = new ConstraintSolver();
+        int won = 0;
+
+        for (long seed = 0; seed < 50; seed++) {
+            Board board = new Board(9, 9, 10, seed);
+            openFirstSafeField(board);
+
+            Solution solution = solver.solve(board);
+            while (!solution.isEmpty() && !board.goalAchieved()) {
+                for (int index : solution.safeFields()) {
+                    board.openField(index / 9, index % 9);
+                }
+                for (int index : solution.minedFields()) {
+                    board.toggleMark(index / 9, index % 9);
+                }
+                solution = solver.solve(board);
+            }
+
+            if (board.goalAchieved()) {
+                won++;
+            }
+        }
+
+        assertTrue(won > 0);
+    }
+
+    /**
+     * Opens the first field with no mines around it, or the first safe field.
+     * */
+    private static void openFirstSafeField(Board board) {
+        int fallbackRow = -1;
+        int fallbackColumn = -1;
+
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int column = 0; column < board.getCols(); column++) {
+                if (board.getField(row, column).isMined()) {
+                    continue;
+                }
+                if (board.getField(row, column).getNeighboringFields().stream().noneMatch(f -> f.isMined())) {
+                    board.openField(row, column);
+                    return;
+                }
+                if (fallbackRow == -1) {
+                    fallbackRow = row;
+                    fallbackColumn = column;
+                }
+            }
+        }
+        board.openField(fallbackRow, fallbackColumn);
+    }
+}
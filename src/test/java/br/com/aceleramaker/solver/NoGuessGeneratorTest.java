@@ -0,0 +1,37 @@
+package br.com.aceleramaker.solver;
+
+import br.com.aceleramaker.model.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoGuessGeneratorTest {
+
+    @Test
+    void testGeneratedBoardIsSolvable() {
+        try (NoGuessGenerator generator = new NoGuessGenerator(2, 10_000)) {
+            Board board = generator.generate(16, 30, 99, 8, 15);
+
+            assertEquals(480 - 99, board.remainingFields());
+            assertFalse(board.isOpened(8, 15));
+
+            Board copy = Board.withSafeStart(16, 30, 99, board.getSeed(), 8, 15);
+            assertTrue(NoGuessGenerator.isSolvable(copy, 8, 15));
+            assertTrue(copy.goalAchieved());
+        }
+    }
+
+    @Test
+    void testGiveUpAfterMaxAttempts() {
+        try (NoGuessGenerator generator = new NoGuessGenerator(2, 5)) {
+            assertThrows(IllegalStateException.class, () -> generator.generate(10, 10, 60, 0, 0));
+        }
+    }
+
+    @Test
+    void testInvalidFirstClick() {
+        try (NoGuessGenerator generator = new NoGuessGenerator(1, 5)) {
+            assertThrows(IllegalArgumentException.class, () -> generator.generate(10, 10, 10, 10, 0));
+        }
+    }
+}
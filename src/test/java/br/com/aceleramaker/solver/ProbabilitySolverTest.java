@@ -0,0 +1,211 @@
+package br.com.aceleramaker.solver;
+
+import br.com.aceleramaker.model.Board;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProbabilitySolverTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void testClosedBoardHasUniformProbability() {
+        Board board = new Board(6, 6, 9, 1L);
+
+        for (double probability : new ProbabilitySolver(board).mineProbabilities()) {
+            assertEquals(0.25, probability, DELTA);
+        }
+    }
+
+    @Test
+    void testOnlyNeighborIsMined() {
+        Board board = new Board(1, 2, 1, 1L);
+        int safeColumn = board.getField(0, 0).isMined() ? 1 : 0;
+        board.openField(0, safeColumn);
+
+        double[] probabilities = new ProbabilitySolver(board).mineProbabilities();
+
+        assertEquals(0, probabilities[safeColumn], DELTA);
+        assertEquals(1, probabilities[1 - safeColumn], DELTA);
+    }
+
+    @Test
+    void testMatchesEveryPlacementOfTheMines() {
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            for (long seed = 0; seed < 20; seed++) {
+                Board board = new Board(5, 5, 6, seed);
+                openFirstSafeField(board);
+
+                double[] expected = bruteForce(board);
+                double[] probabilities = new ProbabilitySolver(board, pool).mineProbabilities();
+
+                assertArrayEquals(expected, probabilities, DELTA);
+            }
+        }
+    }
+
+    @Test
+    void testAgreesWithConstraintSolver() {
+        ConstraintSolver solver = new ConstraintSolver();
+
+        for (long seed = 0; seed < 10; seed++) {
+            Board board = new Board(16, 30, 99, seed);
+            openFirstSafeField(board);
+
+            Solution solution = solver.solve(board);
+            double[] probabilities = new ProbabilitySolver(board).mineProbabilities();
+
+            for (int index : solution.safeFields()) {
+                assertEquals(0, probabilities[index], DELTA);
+            }
+            for (int index : solution.minedFields()) {
+                assertEquals(1, probabilities[index], DELTA);
+            }
+
+            double mines = 0;
+            for (double probability : probabilities) {
+                mines += probability;
+            }
+            assertEquals(99, mines, 1e-6);
+        }
+    }
+
+    @Test
+    void testLargeFrontierReturnsPromptly() {
+        // numbers every other row of a narrow strip link its closed fields in one long component
+        Board board = new Board(40, 3, 36, 3L);
+        for (int row = 0; row < 40; row += 2) {
+            if (!board.getField(row, 1).isMined()) {
+                board.open(row, 1);
+            }
+        }
+        int closed = 0;
+        for (int index = 0; index < 120; index++) {
+            if (!board.isOpened(index / 3, index % 3)) {
+                closed++;
+            }
+        }
+        assertTrue(closed > 90);
+
+        double[] probabilities = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> new ProbabilitySolver(board).mineProbabilities());
+
+        Solution solution = new ConstraintSolver().solve(board);
+        for (int index : solution.safeFields()) {
+            assertEquals(0, probabilities[index], DELTA);
+        }
+        for (int index : solution.minedFields()) {
+            assertEquals(1, probabilities[index], DELTA);
+        }
+        double mines = 0;
+        for (double probability : probabilities) {
+            mines += probability;
+        }
+        assertEquals(36, mines, 1e-6);
+    }
+
+    @Test
+    void testWrongMarksThrowIllegalStateException() {
+        Board board = new Board(1, 3, 1, 0L);
+        for (long seed = 1; board.getField(0, 1).isMined(); seed++) {
+            board = new Board(1, 3, 1, seed);
+        }
+        board.openField(0, 1);
+        board.toggleMark(0, 0);
+        board.toggleMark(0, 2);
+
+        ProbabilitySolver solver = new ProbabilitySolver(board);
+        assertThrows(IllegalStateException.class, solver::mineProbabilities);
+    }
+
+    /**
+     * Tries every placement of the remaining mines on the closed fields,
+     * keeping the ones matching the opened numbers.
+     * */
+    private static double[] bruteForce(Board board) {
+        int cols = board.getCols();
+        int fields = board.getRows() * cols;
+        int[] closed = new int[fields];
+        int closedCount = 0;
+
+        for (int index = 0; index < fields; index++) {
+            if (!board.isOpened(index / cols, index % cols)) {
+                closed[closedCount++] = index;
+            }
+        }
+
+        double[] mined = new double[fields];
+        boolean[] placement = new boolean[fields];
+        long placements = place(board, closed, closedCount, 0, board.getMines(), placement, mined);
+
+        for (int index = 0; index < fields; index++) {
+            mined[index] /= placements;
+        }
+        return mined;
+    }
+
+    private static long place(Board board, int[] closed, int closedCount, int next, int mines,
+                              boolean[] placement, double[] mined) {
+        if (mines == 0) {
+            if (!matches(board, placement)) {
+                return 0;
+            }
+            for (int index = 0; index < placement.length; index++) {
+                if (placement[index]) {
+                    mined[index]++;
+                }
+            }
+            return 1;
+        }
+        if (closedCount - next < mines) {
+            return 0;
+        }
+
+        placement[closed[next]] = true;
+        long placements = place(board, closed, closedCount, next + 1, mines - 1, placement, mined);
+        placement[closed[next]] = false;
+        return placements + place(board, closed, closedCount, next + 1, mines, placement, mined);
+    }
+
+    private static boolean matches(Board board, boolean[] placement) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < cols; column++) {
+                int shown = board.getNeighborhoodMines(row, column);
+                if (shown < 0) {
+                    continue;
+                }
+
+                int count = 0;
+                for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+                    for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, cols - 1); c++) {
+                        if (placement[r * cols + c]) {
+                            count++;
+                        }
+                    }
+                }
+                if (count != shown) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void openFirstSafeField(Board board) {
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int column = 0; column < board.getCols(); column++) {
+                if (!board.getField(row, column).isMined()) {
+                    board.openField(row, column);
+                    return;
+                }
+            }
+        }
+    }
+}
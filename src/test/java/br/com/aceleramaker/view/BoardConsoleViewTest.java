@@ -0,0 +1,52 @@
+package br.com.aceleramaker.view;
+
+import br.com.aceleramaker.model.Board;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardConsoleViewTest {
+
+    private static final String ESC = "\u001B[";
+
+    @Test
+    void testAnsiRedrawsOnlyChangedFields() {
+        String output = play("0,0\n2\n11,10\n2\nexit\n", true);
+
+        assertEquals(1, count(output, ESC + "2J"), "The screen is cleared once per game");
+        assertTrue(output.contains(ESC + "2;3Hx"), "The mark at 0,0 is drawn over its field");
+        assertTrue(output.contains(ESC + "13;34Hx"), "Fields of rows with 2 digits are shifted");
+        assertEquals(1, count(output, " 11 "), "The header is only drawn in the first frame");
+        assertEquals(3, count(output, ESC + "14;1H" + ESC + "J"), "The prompts are cleared on each frame");
+    }
+
+    @Test
+    void testPlainRedrawsWholeBoard() {
+        String output = play("0,0\n2\nexit\n", false);
+
+        assertFalse(output.contains("\u001B"));
+        assertEquals(2, count(output, " 11 "));
+    }
+
+    private static String play(String input, boolean ansi) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+
+        new BoardConsoleView(new Board(12, 12, 10, 1L),
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out, null, ansi);
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.aceleramaker.view;
+
+import br.com.aceleramaker.exception.ExplosionException;
+import br.com.aceleramaker.model.Board;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandScriptTest {
+
+    @Test
+    void testPlayMatchesSingleMoves() {
+        Board scripted = new Board(30, 30, 150, 5L);
+        Board single = new Board(30, 30, 150, 5L);
+        StringBuilder script = new StringBuilder("# every field, marking the diagonal\n");
+
+        long revealed = 0;
+        long explosions = 0;
+        for (int row = 0; row < 30; row++) {
+            for (int column = 0; column < 30; column++) {
+                if (row == column) {
+                    script.append("m ").append(row).append(',').append(column).append('\n');
+                    single.toggleMark(row, column);
+                } else {
+                    script.append("o ").append(row).append(',').append(column).append("\r\n");
+                    try {
+                        revealed += single.openField(row, column);
+                    } catch (ExplosionException e) {
+                        explosions++;
+                    }
+                }
+            }
+        }
+
+        CommandScript.Result result = CommandScript.play(scripted, bytes(script.toString()));
+
+        assertEquals(new CommandScript.Result(900, revealed, explosions, 0), result);
+        assertEquals(single.toString(), scripted.toString());
+    }
+
+    @Test
+    void testPlayFromChannelInSmallReads() throws IOException {
+        Board board = new Board(6, 6, 0, 1L);
+        String script = "  m 0 , 0\n\n\to 5,5  \nc 5,5\no 12,";
+        InputStream in = new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> CommandScript.play(board, Channels.newChannel(in)));
+        assertEquals("Invalid field at line 5. Board size is 6x6", e.getMessage());
+        // the moves before the invalid line are played
+        assertTrue(board.isMarked(0, 0));
+        assertTrue(board.isOpened(5, 5));
+        assertFalse(board.isOpened(0, 0));
+        assertEquals(1, board.remainingFields());
+    }
+
+    @Test
+    void testPlayCountsMoves() throws IOException {
+        Board board = new Board(6, 6, 0, 1L);
+        String script = "m 0,0\no 5,5\nm 0,0\nc 5,5\nr\no 1,1\n";
+        InputStream in = new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8));
+
+        CommandScript.Result result = CommandScript.play(board, Channels.newChannel(in));
+
+        // the marked field is left out of the first cascade, and the chord has nothing to open
+        assertEquals(new CommandScript.Result(5, 35 + 36, 0, 1), result);
+        assertTrue(board.goalAchieved());
+    }
+
+    @Test
+    void testInvalidCommands() {
+        String[] invalid = {"x 1,1", "o 1", "o 1,", "o ,1", "o 1,1 2", "o 1;1", "r 1", "o -1,1"};
+
+        for (String script : invalid) {
+            Board board = new Board(6, 6, 0, 1L);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> CommandScript.play(board, bytes("o 0,0\n" + script)), script);
+            assertTrue(e.getMessage().startsWith("Invalid command at line 2"), script);
+            assertTrue(board.goalAchieved(), "The moves before the invalid line are played");
+        }
+    }
+
+    private static ByteBuffer bytes(String script) {
+        return ByteBuffer.wrap(script.getBytes(StandardCharsets.US_ASCII));
+    }
+}